@@ -0,0 +1,90 @@
+package at.geise.test.springboot4test.benchmark;
+
+import at.geise.test.springboot4test.domain.TimeOrderedUuid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput into {@code activity_logs} (rows per millisecond) for random v4 vs time-ordered
+ * v7 primary keys, sent one statement at a time ({@code batchSize=1}) or as JDBC batches. The table
+ * keeps growing across iterations, so the id strategy's effect on the primary key index shows up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ActivityLogInsertBenchmark {
+
+    private static final int ROWS = 500;
+    private static final String INSERT_SQL = """
+            INSERT INTO activity_logs (id, task_id, action, old_value, new_value, author, timestamp)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    public enum IdStrategy {
+        RANDOM(UUID::randomUUID),
+        TIME_ORDERED(TimeOrderedUuid::next);
+
+        private final Supplier<UUID> generator;
+
+        IdStrategy(Supplier<UUID> generator) {
+            this.generator = generator;
+        }
+    }
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    public IdStrategy idStrategy;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setUp(ApplicationState state) {
+        jdbcTemplate = state.bean(JdbcTemplate.class);
+        transactionTemplate = state.bean(TransactionTemplate.class);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insert(ApplicationState state) {
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{idStrategy.generator.get(), state.randomTask().getId(), "STATUS_CHANGED", "TODO", "DONE", "Bench", now});
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (batchSize == 1) {
+                rows.forEach(row -> jdbcTemplate.update(INSERT_SQL, row));
+            } else {
+                for (int from = 0; from < ROWS; from += batchSize) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, rows.subList(from, Math.min(ROWS, from + batchSize)));
+                }
+            }
+        });
+    }
+}
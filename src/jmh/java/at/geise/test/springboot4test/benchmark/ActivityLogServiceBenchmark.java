@@ -0,0 +1,53 @@
+package at.geise.test.springboot4test.benchmark;
+
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.ActivitySummaryDto;
+import at.geise.test.springboot4test.dto.TaskChange;
+import at.geise.test.springboot4test.service.ActivityLogService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code logTaskChanges} measures the caller-side cost (building entries and handing them to the
+ * write-behind queue); the batched inserts run on the writer thread during the iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ActivityLogServiceBenchmark {
+
+    private ActivityLogService activityLogService;
+
+    @Setup
+    public void setUp(ApplicationState state) {
+        activityLogService = state.bean(ActivityLogService.class);
+    }
+
+    @Benchmark
+    public void logTaskChanges(ApplicationState state) {
+        Task task = state.randomTask();
+        activityLogService.logTaskChanges(task, List.of(
+                new TaskChange(TaskChange.Field.STATUS, task.getStatus(), Task.Status.DONE),
+                new TaskChange(TaskChange.Field.PRIORITY, task.getPriority(), Task.Priority.HIGH),
+                new TaskChange(TaskChange.Field.TITLE, task.getTitle(), task.getTitle() + "*")), "System");
+    }
+
+    @Benchmark
+    public List<ActivitySummaryDto> getActivitySummary(ApplicationState state) {
+        return activityLogService.getActivitySummary(state.randomTask().getId());
+    }
+}
@@ -0,0 +1,111 @@
+package at.geise.test.springboot4test.benchmark;
+
+import at.geise.test.springboot4test.SpringBoot4TestApplication;
+import at.geise.test.springboot4test.domain.ActivityLog;
+import at.geise.test.springboot4test.domain.Comment;
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.repository.ActivityLogRepository;
+import at.geise.test.springboot4test.repository.CommentRepository;
+import at.geise.test.springboot4test.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Boots the application once per trial against a private in-memory H2 database (test profile) and
+ * seeds it with {@code taskCount} tasks, each with {@code commentsPerTask} comments and
+ * {@code activityPerTask} activity entries. Override volumes with {@code -p taskCount=100000}.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    private static final int SEED_CHUNK = 1_000;
+
+    @Param({"1000"})
+    public int taskCount;
+
+    @Param({"5"})
+    public int commentsPerTask;
+
+    @Param({"20"})
+    public int activityPerTask;
+
+    public ConfigurableApplicationContext context;
+    public List<Task> tasks;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(SpringBoot4TestApplication.class)
+                .profiles("test")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "server.port=0")
+                .run();
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public Task randomTask() {
+        return tasks.get(ThreadLocalRandom.current().nextInt(tasks.size()));
+    }
+
+    private void seed() {
+        TaskRepository taskRepository = bean(TaskRepository.class);
+        CommentRepository commentRepository = bean(CommentRepository.class);
+        ActivityLogRepository activityLogRepository = bean(ActivityLogRepository.class);
+        Task.Priority[] priorities = Task.Priority.values();
+        Task.Status[] statuses = Task.Status.values();
+        LocalDateTime now = LocalDateTime.now();
+
+        tasks = new ArrayList<>(taskCount);
+        for (int offset = 0; offset < taskCount; offset += SEED_CHUNK) {
+            List<Task> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = offset; i < Math.min(taskCount, offset + SEED_CHUNK); i++) {
+                Task task = new Task();
+                task.setTitle("Benchmark task " + i);
+                task.setDescription("Seeded task " + i + " for benchmarking list, update and activity paths");
+                task.setPriority(priorities[i % priorities.length]);
+                task.setStatus(statuses[i % statuses.length]);
+                task.setDueDate(now.plusDays(1 + i % 30));
+                task.setCreatedAt(now.minusMinutes(i));
+                chunk.add(task);
+            }
+            List<Task> saved = taskRepository.saveAll(chunk);
+            tasks.addAll(saved);
+
+            List<Comment> comments = new ArrayList<>();
+            List<ActivityLog> activity = new ArrayList<>();
+            for (Task task : saved) {
+                for (int c = 0; c < commentsPerTask; c++) {
+                    comments.add(new Comment(task, "Comment " + c + " on " + task.getTitle(), "Bench"));
+                }
+                for (int a = 0; a < activityPerTask; a++) {
+                    activity.add(new ActivityLog(task, a % 2 == 0 ? "STATUS_CHANGED" : "PRIORITY_CHANGED", "OLD", "NEW", "Bench"));
+                }
+            }
+            commentRepository.saveAll(comments);
+            activityLogRepository.saveAll(activity);
+        }
+    }
+}
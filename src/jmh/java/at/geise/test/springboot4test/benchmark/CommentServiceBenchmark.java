@@ -0,0 +1,38 @@
+package at.geise.test.springboot4test.benchmark;
+
+import at.geise.test.springboot4test.dto.CommentDto;
+import at.geise.test.springboot4test.service.CommentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommentServiceBenchmark {
+
+    private CommentService commentService;
+
+    @Setup
+    public void setUp(ApplicationState state) {
+        commentService = state.bean(CommentService.class);
+    }
+
+    @Benchmark
+    public List<CommentDto> getCommentsForTask(ApplicationState state) {
+        return commentService.getCommentsForTask(state.randomTask().getId());
+    }
+}
@@ -0,0 +1,81 @@
+package at.geise.test.springboot4test.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OpenAI-compatible {@code /chat/completions} endpoint on a loopback port that answers every request
+ * with a fixed prioritization after {@code latency}. Replies are scheduled rather than slept on, so the
+ * stub itself holds no thread per open request and tracks how many are open at once.
+ */
+final class ProviderStub implements AutoCloseable {
+
+    static final String RATIONALE = "provider stub";
+
+    private static final byte[] RESPONSE = ("{\"id\":\"stub\",\"object\":\"chat.completion\","
+            + "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\","
+            + "\"content\":\"{\\\"priority\\\":\\\"HIGH\\\",\\\"rationale\\\":\\\"" + RATIONALE + "\\\"}\"},"
+            + "\"finish_reason\":\"stop\"}],"
+            + "\"usage\":{\"prompt_tokens\":120,\"completion_tokens\":20}}").getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService acceptor = Executors.newFixedThreadPool(2);
+    private final ScheduledExecutorService responder = Executors.newScheduledThreadPool(2);
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger peakOpen = new AtomicInteger();
+    private final Duration latency;
+
+    ProviderStub(Duration latency) throws IOException {
+        this.latency = latency;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4096);
+        server.createContext("/chat/completions", this::accept);
+        server.setExecutor(acceptor);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /** Highest number of simultaneously open provider requests since the last call. */
+    int resetPeakOpen() {
+        return peakOpen.getAndSet(open.get());
+    }
+
+    private void accept(HttpExchange exchange) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        peakOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+        responder.schedule(() -> respond(exchange), latency.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void respond(HttpExchange exchange) {
+        open.decrementAndGet();
+        try (exchange; OutputStream body = exchange.getResponseBody()) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            body.write(RESPONSE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        responder.shutdownNow();
+        acceptor.shutdownNow();
+    }
+}
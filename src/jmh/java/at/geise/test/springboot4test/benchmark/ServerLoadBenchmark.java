@@ -0,0 +1,176 @@
+package at.geise.test.springboot4test.benchmark;
+
+import at.geise.test.springboot4test.SpringBoot4TestApplication;
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load test for the {@code virtual-threads} profile. The application runs on a real port
+ * (dev profile, private H2) against a {@link ProviderStub} that answers after {@code providerLatencyMs};
+ * {@code aiInFlight} clients keep {@code POST /api/ai/prioritize} requests open back to back while the
+ * benchmark threads sample CRUD latency (read p0.99 from the sample-time histogram).
+ * <p>
+ * After each iteration a line reports the peak number of AI requests open at the server and at the
+ * provider, how many were answered by the fallback or failed, and the peak number of live platform
+ * threads in the JVM. {@code threads=virtual} needs JDK 21+; run on such a JDK with
+ * {@code -Djmh.args="ServerLoad -p threads=platform,virtual"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class ServerLoadBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"2000"})
+    public int aiInFlight;
+
+    @Param({"1000"})
+    public int providerLatencyMs;
+
+    private final AtomicInteger aiOpen = new AtomicInteger();
+    private final AtomicInteger aiPeakOpen = new AtomicInteger();
+    private final AtomicLong aiAnswered = new AtomicLong();
+    private final AtomicLong aiFallbacks = new AtomicLong();
+    private final AtomicLong aiFailures = new AtomicLong();
+    private final AtomicLong aiSequence = new AtomicLong();
+
+    private ProviderStub provider;
+    private ConfigurableApplicationContext context;
+    private HttpClient aiClient;
+    private HttpClient crudClient;
+    private String baseUrl;
+    private List<UUID> taskIds;
+    private ThreadMXBean threadBean;
+    private volatile boolean running;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        boolean virtual = "virtual".equals(threads);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("threads=virtual needs JDK 21+, running on " + Runtime.version());
+        }
+        provider = new ProviderStub(Duration.ofMillis(providerLatencyMs));
+        context = new SpringApplicationBuilder(SpringBoot4TestApplication.class)
+                .profiles(virtual ? new String[]{"dev", "virtual-threads"} : new String[]{"dev"})
+                // Command-line arguments, so they win over application-dev.yml
+                .run("--spring.datasource.url=jdbc:h2:mem:load-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.at.geise.test.springboot4test=WARN",
+                        "--server.port=0",
+                        "--ai.api.base-url=" + provider.baseUrl(),
+                        // Measure the server's thread model, not the provider pool cap or the response cache
+                        "--ai.api.max-concurrent-requests=" + aiInFlight,
+                        "--ai.api.max-pending-requests=" + aiInFlight,
+                        "--ai.cache.enabled=false");
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        taskIds = context.getBean(TaskRepository.class).findAll().stream().map(Task::getId).toList();
+        threadBean = ManagementFactory.getThreadMXBean();
+
+        aiClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        crudClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        running = true;
+        for (int i = 0; i < aiInFlight; i++) {
+            sendAiRequest();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        running = false;
+        context.close();
+        provider.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCounters() {
+        aiPeakOpen.set(aiOpen.get());
+        provider.resetPeakOpen();
+        aiAnswered.set(0);
+        aiFallbacks.set(0);
+        aiFailures.set(0);
+        threadBean.resetPeakThreadCount();
+    }
+
+    @TearDown(Level.Iteration)
+    public void report() {
+        System.out.printf("%n[%s] AI open peak: %d at server, %d at provider; answered %d (fallback %d), failed %d; platform threads peak: %d%n",
+                threads, aiPeakOpen.get(), provider.resetPeakOpen(), aiAnswered.get(), aiFallbacks.get(),
+                aiFailures.get(), threadBean.getPeakThreadCount());
+    }
+
+    @Benchmark
+    public int getTask() throws Exception {
+        UUID id = taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/" + id)).GET().build();
+        return crudClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int listTasks() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks?page=0&size=20")).GET().build();
+        return crudClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    // Each completion immediately issues the next request, keeping aiInFlight requests open
+    private void sendAiRequest() {
+        if (!running) {
+            return;
+        }
+        String body = "{\"title\":\"Load test task " + aiSequence.incrementAndGet() + "\",\"description\":\"Keep the provider busy\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/ai/prioritize"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        aiPeakOpen.accumulateAndGet(aiOpen.incrementAndGet(), Math::max);
+        aiClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            aiOpen.decrementAndGet();
+            if (error != null || response.statusCode() != 200) {
+                aiFailures.incrementAndGet();
+            } else {
+                aiAnswered.incrementAndGet();
+                if (!response.body().contains(ProviderStub.RATIONALE)) {
+                    aiFallbacks.incrementAndGet();
+                }
+            }
+            sendAiRequest();
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package at.geise.test.springboot4test.benchmark;
+
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.CursorPage;
+import at.geise.test.springboot4test.dto.TaskDto;
+import at.geise.test.springboot4test.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offset vs keyset listing, create and update. {@code create} grows the table during the run, so
+ * compare it across runs with the same iteration settings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private TaskService taskService;
+
+    @Setup
+    public void setUp(ApplicationState state) {
+        taskService = state.bean(TaskService.class);
+    }
+
+    @Benchmark
+    public Page<Task> listFirstPage() {
+        return taskService.list(0, PAGE_SIZE, null, null, "createdAt", "DESC");
+    }
+
+    @Benchmark
+    public Page<Task> listRandomPage(ApplicationState state) {
+        int pages = Math.max(1, state.taskCount / PAGE_SIZE);
+        return taskService.list(ThreadLocalRandom.current().nextInt(pages), PAGE_SIZE, null, null, "createdAt", "DESC");
+    }
+
+    @Benchmark
+    public CursorPage<Task> scrollFirstPage() {
+        return taskService.scroll(null, PAGE_SIZE, null, "createdAt", "DESC");
+    }
+
+    @Benchmark
+    public Task create() {
+        return taskService.create(new TaskDto(null, "Created in benchmark", "Body", Task.Priority.MEDIUM,
+                Task.Status.TODO, LocalDateTime.now().plusDays(3)));
+    }
+
+    @Benchmark
+    public Task update(ApplicationState state) {
+        Task task = state.randomTask();
+        Task.Status status = Task.Status.values()[ThreadLocalRandom.current().nextInt(Task.Status.values().length)];
+        return taskService.update(task.getId(), new TaskDto(task.getId(), task.getTitle(), task.getDescription(),
+                task.getPriority(), status, task.getDueDate()));
+    }
+}
@@ -0,0 +1,62 @@
+package at.geise.test.springboot4test.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of provider responses, without any network or Spring context. Lives in the service
+ * package to reach the package-private parse methods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AiResponseParsingBenchmark {
+
+    private static final String PRIORITY_RESPONSE = completion(
+            "{\\\"priority\\\": \\\"HIGH\\\", \\\"rationale\\\": \\\"Production outage blocking checkout; fix immediately.\\\"}");
+
+    private static final String FENCED_PRIORITY_RESPONSE = completion(
+            "```json\\n{\\\"priority\\\": \\\"low\\\", \\\"rationale\\\": \\\"Cosmetic change with no deadline.\\\"}\\n```");
+
+    private static final String DECOMPOSITION_RESPONSE = completion(
+            "{\\\"subtasks\\\": [\\\"Reproduce the failing checkout\\\", \\\"Inspect payment service logs\\\", "
+                    + "\\\"Identify root cause\\\", \\\"Write regression test\\\", \\\"Deploy hotfix\\\", "
+                    + "\\\"Monitor error rate\\\", \\\"Write incident report\\\"]}");
+
+    private final AiService aiService = new AiService(null, null, null);
+
+    @Benchmark
+    public AiService.PrioritySuggestion parseApiResponse() {
+        return aiService.parseApiResponse(PRIORITY_RESPONSE);
+    }
+
+    @Benchmark
+    public AiService.PrioritySuggestion parseApiResponseWithCodeFence() {
+        return aiService.parseApiResponse(FENCED_PRIORITY_RESPONSE);
+    }
+
+    @Benchmark
+    public AiService.DecompositionSuggestion parseDecompositionResponse() {
+        return aiService.parseDecompositionResponse(DECOMPOSITION_RESPONSE);
+    }
+
+    private static String completion(String escapedContent) {
+        return """
+                {"id":"chatcmpl-1","object":"chat.completion","model":"gpt-4-turbo-preview",
+                 "choices":[{"index":0,"message":{"role":"assistant","content":"%s"},"finish_reason":"stop"}],
+                 "usage":{"prompt_tokens":180,"completion_tokens":42,"total_tokens":222}}
+                """.formatted(escapedContent);
+    }
+}
@@ -1,10 +1,16 @@
 package at.geise.test.springboot4test.config;
 
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 @Profile("!test")
@@ -16,13 +22,38 @@ public class AiConfig {
     @Value("${ai.api.base-url:https://api.openai.com/v1}")
     private String baseUrl;
 
+    @Value("${ai.api.timeout:30s}")
+    private Duration timeout;
+
+    @Value("${ai.api.max-concurrent-requests:20}")
+    private int maxConcurrentRequests;
+
+    @Value("${ai.api.max-pending-requests:100}")
+    private int maxPendingRequests;
+
+    // Dedicated pool so AI traffic is capped independently of any other outbound HTTP:
+    // at most maxConcurrentRequests in flight, further calls queue (bounded) and fail fast when full.
+    // Closed with the context so its pooled connections do not outlive it.
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider aiConnectionProvider() {
+        return ConnectionProvider.builder("ai-provider")
+                .maxConnections(maxConcurrentRequests)
+                .pendingAcquireMaxCount(maxPendingRequests)
+                .pendingAcquireTimeout(timeout)
+                .build();
+    }
+
     @Bean
-    public WebClient aiWebClient() {
+    public WebClient aiWebClient(ConnectionProvider aiConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(aiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) Math.min(timeout.toMillis(), 10_000))
+                .responseTimeout(timeout);
+
         return WebClient.builder()
                 .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .defaultHeader("Authorization", "Bearer " + apiKey)
                 .defaultHeader("Content-Type", "application/json")
                 .build();
     }
 }
-
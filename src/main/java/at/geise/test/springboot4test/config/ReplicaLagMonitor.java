@@ -0,0 +1,82 @@
+package at.geise.test.springboot4test.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measures replica lag with a heartbeat: every {@code datasource.replica.check-interval} the current
+ * time is written to {@code replica_heartbeat} on the primary and read back from each replica. The age
+ * of the heartbeat a replica returns is its lag, so it includes up to one check interval; a replica
+ * that cannot be queried or has no heartbeat yet counts as unknown and gets no reads. Works with any
+ * replication that carries the table along (Postgres streaming replication, or a copied H2 database).
+ * Lag is published as the {@code datasource.replica.lag} gauge per {@code replica}.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    static final String CREATE_SQL = "CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at TIMESTAMP NOT NULL)";
+    static final String UPDATE_SQL = "UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1";
+    static final String INSERT_SQL = "INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)";
+    static final String SELECT_SQL = "SELECT beat_at FROM replica_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primary;
+    private final Map<ReplicaRoutingDataSource.Replica, JdbcTemplate> replicas = new LinkedHashMap<>();
+    private volatile boolean tableCreated;
+
+    public ReplicaLagMonitor(DataSource primary, ReplicaRoutingDataSource routing, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        for (ReplicaRoutingDataSource.Replica replica : routing.replicas()) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(replica.dataSource());
+            jdbcTemplate.setQueryTimeout(5);
+            replicas.put(replica, jdbcTemplate);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lag() != null ? r.lag().toMillis() / 1000.0 : Double.NaN)
+                    .description("Age of the newest heartbeat visible on the replica")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.check-interval:1s}")
+    public void check() {
+        LocalDateTime beat = LocalDateTime.now();
+        try {
+            if (!tableCreated) {
+                primary.execute(CREATE_SQL);
+                tableCreated = true;
+            }
+            if (primary.update(UPDATE_SQL, beat) == 0) {
+                primary.update(INSERT_SQL, beat);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not write replica heartbeat: {}", e.getMessage());
+            return;
+        }
+        replicas.forEach((replica, jdbcTemplate) -> replica.update(lag(jdbcTemplate, beat)));
+    }
+
+    private static Duration lag(JdbcTemplate replica, LocalDateTime beat) {
+        try {
+            LocalDateTime replicated = replica.queryForObject(SELECT_SQL, LocalDateTime.class);
+            if (replicated == null) {
+                return null;
+            }
+            // Another instance may have written a newer heartbeat
+            Duration lag = Duration.between(replicated, beat);
+            return lag.isNegative() ? Duration.ZERO : lag;
+        } catch (DataAccessException e) {
+            log.debug("Replica heartbeat not readable: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package at.geise.test.springboot4test.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions round-robin to the replicas {@link ReplicaLagMonitor} currently reports
+ * as in sync, and everything else (writes, non-transactional access, or no replica in sync) to the
+ * primary. Once a web request has opened a read-write transaction, its later reads stay on the primary
+ * so the request sees its own writes.
+ * <p>
+ * The lookup happens when a connection is obtained, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction's
+ * read-only flag is only set after the transaction manager has asked for its connection.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+    static final String PINNED_ATTRIBUTE = ReplicaRoutingDataSource.class.getName() + ".PINNED";
+
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas) {
+        this.replicas = List.copyOf(replicas);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.name(), replica.dataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (request != null) {
+                request.setAttribute(PINNED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            }
+            return PRIMARY;
+        }
+        if (request != null && request.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isAvailable()) {
+                return replica.name();
+            }
+        }
+        return PRIMARY;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /** A replica and its last measured lag; {@code null} lag means it could not be measured. */
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Duration maxLag;
+        private volatile Duration lag;
+
+        public Replica(String name, DataSource dataSource, Duration maxLag) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.maxLag = maxLag;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public Duration lag() {
+            return lag;
+        }
+
+        public boolean isAvailable() {
+            Duration current = lag;
+            return current != null && current.compareTo(maxLag) <= 0;
+        }
+
+        void update(Duration measured) {
+            boolean wasAvailable = isAvailable();
+            lag = measured;
+            if (wasAvailable != isAvailable()) {
+                if (wasAvailable) {
+                    log.warn("Replica {} out of rotation, lag {} (max {})", name, measured != null ? measured : "unknown", maxLag);
+                } else {
+                    log.info("Replica {} in rotation, lag {}", name, measured);
+                }
+            }
+        }
+    }
+}
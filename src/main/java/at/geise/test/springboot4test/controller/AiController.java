@@ -1,5 +1,6 @@
 package at.geise.test.springboot4test.controller;
 
+import at.geise.test.springboot4test.dto.AiBatchPrioritizeRequest;
 import at.geise.test.springboot4test.dto.AiTaskSuggestionRequest;
 import at.geise.test.springboot4test.service.AiService;
 import at.geise.test.springboot4test.service.AiService.DeadlineSuggestion;
@@ -7,11 +8,21 @@ import at.geise.test.springboot4test.service.AiService.DecompositionSuggestion;
 import at.geise.test.springboot4test.service.AiService.PrioritySuggestion;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.util.List;
+
+/**
+ * AI endpoints return {@link Mono} so Spring MVC handles them asynchronously: the servlet
+ * thread is released while the provider call is in flight and CRUD traffic is not starved.
+ */
 @RestController
 @RequestMapping("/api/ai")
 @RequiredArgsConstructor
@@ -20,18 +31,33 @@ public class AiController {
     private final AiService aiService;
 
     @PostMapping("/prioritize")
-    public PrioritySuggestion prioritize(@RequestBody @Valid AiTaskSuggestionRequest request) {
-        return aiService.prioritize(request);
+    public Mono<PrioritySuggestion> prioritize(@RequestBody @Valid AiTaskSuggestionRequest request) {
+        return aiService.prioritizeAsync(request);
+    }
+
+    @PostMapping("/prioritize/batch")
+    public Mono<List<PrioritySuggestion>> prioritizeBatch(@RequestBody @Valid AiBatchPrioritizeRequest request) {
+        return aiService.prioritizeBatchAsync(request.tasks());
     }
 
     @PostMapping("/decompose")
-    public DecompositionSuggestion decompose(@RequestBody @Valid AiTaskSuggestionRequest request) {
-        return aiService.decompose(request);
+    public Mono<DecompositionSuggestion> decompose(@RequestBody @Valid AiTaskSuggestionRequest request) {
+        return aiService.decomposeAsync(request);
+    }
+
+    /**
+     * Streams subtasks as server-sent events ({@code event: subtask}) while the model is still
+     * generating, followed by a final {@code event: done}.
+     */
+    @PostMapping(value = "/decompose/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> decomposeStream(@RequestBody @Valid AiTaskSuggestionRequest request) {
+        return aiService.decomposeStream(request)
+                .map(subtask -> ServerSentEvent.builder(subtask).event("subtask").build())
+                .concatWithValues(ServerSentEvent.builder("").event("done").build());
     }
 
     @PostMapping("/deadline")
-    public DeadlineSuggestion deadline(@RequestBody @Valid AiTaskSuggestionRequest request) {
-        return aiService.predictDeadline(request);
+    public Mono<DeadlineSuggestion> deadline(@RequestBody @Valid AiTaskSuggestionRequest request) {
+        return aiService.predictDeadlineAsync(request);
     }
 }
-
@@ -0,0 +1,70 @@
+package at.geise.test.springboot4test.controller;
+
+import at.geise.test.springboot4test.dto.ChangeEventDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Broadcasts task, comment and activity deltas to every client connected to {@code /ws/tasks}.
+ * Events are published by the services and only sent after the surrounding transaction commits.
+ * Each session is wrapped so a slow client is disconnected instead of blocking the broadcast.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskEventsWebSocketHandler extends TextWebSocketHandler {
+
+    private static final int SEND_TIME_LIMIT_MS = 5_000;
+    private static final int BUFFER_SIZE_LIMIT = 512 * 1024;
+
+    private final JsonMapper jsonMapper;
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        sessions.put(session.getId(), new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS, BUFFER_SIZE_LIMIT));
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        sessions.remove(session.getId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEventDto event) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        TextMessage message = new TextMessage(jsonMapper.writeValueAsString(event));
+        sessions.values().forEach(session -> send(session, message));
+    }
+
+    private void send(WebSocketSession session, TextMessage message) {
+        if (!session.isOpen()) {
+            sessions.remove(session.getId());
+            return;
+        }
+        try {
+            session.sendMessage(message);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Dropping websocket session {}: {}", session.getId(), e.getMessage());
+            sessions.remove(session.getId());
+        }
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+}
@@ -3,14 +3,25 @@ package at.geise.test.springboot4test.controller;
 import at.geise.test.springboot4test.domain.Task;
 import at.geise.test.springboot4test.dto.*;
 import at.geise.test.springboot4test.service.CommentService;
+import at.geise.test.springboot4test.service.TaskBulkService;
+import at.geise.test.springboot4test.service.TaskEtagService;
+import at.geise.test.springboot4test.service.TaskSearchService;
 import at.geise.test.springboot4test.service.TaskService;
 import at.geise.test.springboot4test.service.ActivityLogService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,19 +33,70 @@ public class TaskRestController {
     private final TaskService service;
     private final CommentService commentService;
     private final ActivityLogService activityLogService;
+    private final TaskBulkService bulkService;
+    private final TaskSearchService searchService;
+    private final TaskEtagService etags;
 
     @GetMapping
     public Page<Task> list(@RequestParam(required = false) Integer page,
                            @RequestParam(required = false) Integer size,
-                           @RequestParam(required = false) Task.Status status,
-                           @RequestParam(required = false) Task.Priority priority,
+                           TaskFilter filter,
                            @RequestParam(required = false, defaultValue = "createdAt") String sort,
-                           @RequestParam(required = false, defaultValue = "DESC") String direction) {
-        return service.list(page, size, status, priority, sort, direction);
+                           @RequestParam(required = false, defaultValue = "DESC") String direction,
+                           WebRequest request) {
+        // Conditional GETs answer 304 from a version lookup, before any task is loaded or serialized
+        if (request.checkNotModified(etags.tasks(page, size, filter, sort, direction))) {
+            return null;
+        }
+        return service.list(page, size, filter, sort, direction);
+    }
+
+    @GetMapping("/scroll")
+    public CursorPage<Task> scroll(@RequestParam(required = false) String cursor,
+                                   @RequestParam(required = false) Integer size,
+                                   TaskFilter filter,
+                                   @RequestParam(required = false, defaultValue = "createdAt") String sort,
+                                   @RequestParam(required = false, defaultValue = "DESC") String direction) {
+        return service.scroll(cursor, size, filter, sort, direction);
+    }
+
+    @GetMapping("/search")
+    public Page<TaskSearchHit> search(@RequestParam String q,
+                                      @RequestParam(required = false) Integer page,
+                                      @RequestParam(required = false) Integer size) {
+        return searchService.search(q, page, size);
+    }
+
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public TaskImportResult importNdjson(InputStream body) {
+        return bulkService.importNdjson(body);
+    }
+
+    @PostMapping(path = "/import", consumes = "text/csv")
+    public TaskImportResult importCsv(InputStream body) {
+        return bulkService.importCsv(body);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        return switch (format.toLowerCase()) {
+            case "ndjson" -> ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tasks.ndjson")
+                    .body(bulkService::exportNdjson);
+            case "csv" -> ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("text/csv"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tasks.csv")
+                    .body(bulkService::exportCsv);
+            default -> throw new IllegalArgumentException("Unsupported export format: " + format);
+        };
     }
 
     @GetMapping("/{id}")
-    public Task get(@PathVariable UUID id) {
+    public Task get(@PathVariable UUID id, WebRequest request) {
+        if (etags.task(id).filter(request::checkNotModified).isPresent()) {
+            return null;
+        }
         return service.get(id);
     }
 
@@ -49,6 +111,11 @@ public class TaskRestController {
         return service.update(id, dto);
     }
 
+    @PatchMapping(path = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json"})
+    public Task patch(@PathVariable UUID id, @RequestBody @Valid TaskPatch patch) {
+        return service.patch(id, patch);
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable UUID id) {
@@ -57,7 +124,10 @@ public class TaskRestController {
 
     // Comment endpoints
     @GetMapping("/{taskId}/comments")
-    public List<CommentDto> getComments(@PathVariable UUID taskId) {
+    public List<CommentDto> getComments(@PathVariable UUID taskId, WebRequest request) {
+        if (etags.comments(taskId).filter(request::checkNotModified).isPresent()) {
+            return null;
+        }
         return commentService.getCommentsForTask(taskId);
     }
 
@@ -80,14 +150,21 @@ public class TaskRestController {
 
     // Activity log endpoints
     @GetMapping("/{taskId}/activity")
-    public List<ActivityLogDto> getActivity(@PathVariable UUID taskId) {
+    public List<ActivityLogDto> getActivity(@PathVariable UUID taskId, WebRequest request) {
+        if (etags.activity(taskId).filter(request::checkNotModified).isPresent()) {
+            return null;
+        }
         return activityLogService.getActivityForTask(taskId);
     }
 
     @GetMapping("/{taskId}/activity/paged")
     public Page<ActivityLogDto> getActivityPaged(@PathVariable UUID taskId,
                                                  @RequestParam(defaultValue = "0") int page,
-                                                 @RequestParam(defaultValue = "10") int size) {
+                                                 @RequestParam(defaultValue = "10") int size,
+                                                 WebRequest request) {
+        if (etags.activity(taskId, page, size).filter(request::checkNotModified).isPresent()) {
+            return null;
+        }
         return activityLogService.getActivityForTask(taskId, page, size);
     }
 
@@ -96,8 +173,23 @@ public class TaskRestController {
         return activityLogService.getRecentActivity(limit);
     }
 
+    @GetMapping("/activity/feed")
+    public CursorPage<ActivityLogDto> getActivityFeed(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "20") int limit) {
+        return activityLogService.getActivityFeed(cursor, limit);
+    }
+
     @GetMapping("/{taskId}/activity/summary")
-    public List<ActivitySummaryDto> getActivitySummary(@PathVariable UUID taskId) {
+    public List<ActivitySummaryDto> getActivitySummary(@PathVariable UUID taskId, WebRequest request) {
+        if (etags.activity(taskId, "summary").filter(request::checkNotModified).isPresent()) {
+            return null;
+        }
         return activityLogService.getActivitySummary(taskId);
     }
+
+    // Stale version on PATCH, or a concurrent write caught by the version check of the UPDATE
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail handleConflict(OptimisticLockingFailureException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "Task was modified concurrently; reload it and retry");
+    }
 }
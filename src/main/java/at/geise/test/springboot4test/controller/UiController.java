@@ -1,13 +1,21 @@
 package at.geise.test.springboot4test.controller;
 
 import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.CommentDto;
+import at.geise.test.springboot4test.dto.CreateCommentRequest;
+import at.geise.test.springboot4test.dto.TaskDetailView;
 import at.geise.test.springboot4test.dto.TaskDto;
-import at.geise.test.springboot4test.repository.ActivityLogRepository;
+import at.geise.test.springboot4test.dto.TaskSearchHit;
+import at.geise.test.springboot4test.dto.UpdateCommentRequest;
 import at.geise.test.springboot4test.repository.CommentRepository;
-import at.geise.test.springboot4test.repository.ReactionRepository;
+import at.geise.test.springboot4test.service.CommentService;
+import at.geise.test.springboot4test.service.TaskDetailService;
+import at.geise.test.springboot4test.service.TaskSearchService;
 import at.geise.test.springboot4test.service.TaskService;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
@@ -20,6 +28,7 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.UUID;
 
@@ -29,9 +38,10 @@ import java.util.UUID;
 public class UiController {
 
     private final TaskService service;
-    private final ActivityLogRepository activityLogRepository;
+    private final TaskDetailService taskDetailService;
     private final CommentRepository commentRepository;
-    private final ReactionRepository reactionRepository;
+    private final CommentService commentService;
+    private final TaskSearchService searchService;
 
     @GetMapping
     public String index() { return "index"; }
@@ -51,6 +61,27 @@ public class UiController {
         model.addAttribute("pageSize", size);
         model.addAttribute("sortBy", sort);
         model.addAttribute("sortDirection", direction);
+        model.addAttribute("listUrl", "/tasks/list");
+        return "fragments/task-list :: list";
+    }
+
+    @GetMapping("/search")
+    public String search(@RequestParam(required = false) String q,
+                         @RequestParam(required = false, defaultValue = "0") Integer page,
+                         @RequestParam(required = false, defaultValue = "10") Integer size,
+                         Model model) {
+        if (q == null || q.isBlank()) {
+            return list(page, size, null, null, "createdAt", "DESC", model);
+        }
+        Page<TaskSearchHit> hits = searchService.search(q, page, size);
+        model.addAttribute("tasks", hits.getContent());
+        model.addAttribute("page", hits);
+        model.addAttribute("currentPage", hits.getNumber());
+        model.addAttribute("pageSize", hits.getSize());
+        model.addAttribute("sortBy", "rank");
+        model.addAttribute("sortDirection", "DESC");
+        // Pagination keeps the query; column headers fall back to the plain list
+        model.addAttribute("listUrl", UriComponentsBuilder.fromPath("/tasks/search").queryParam("q", q.trim()).encode().toUriString());
         return "fragments/task-list :: list";
     }
 
@@ -69,12 +100,7 @@ public class UiController {
 
     @GetMapping("/{id}")
     public String editForm(@PathVariable UUID id, Model model) {
-        Task task = service.get(id);
-        TaskDto dto = new TaskDto(task.getId(), task.getTitle(), task.getDescription(), task.getPriority(), task.getStatus(), task.getDueDate());
-        model.addAttribute("task", dto);
-        model.addAttribute("activityLogs", activityLogRepository.findByTaskOrderByTimestampDesc(task));
-        // Comments will auto-load reactions via OneToMany relationship
-        model.addAttribute("comments", commentRepository.findByTaskOrderByCreatedAtAsc(task));
+        addDetail(taskDetailService.getDetail(id), model);
         return "fragments/task-form :: form";
     }
 
@@ -112,58 +138,48 @@ public class UiController {
 
     @PostMapping("/{id}/comments")
     public String createComment(@PathVariable UUID id, @RequestParam String text, Model model) {
+        // Through CommentService so the comment is logged, broadcast and indexed for search
+        CommentDto created = commentService.addComment(id, new CreateCommentRequest(text, "User"));
         Task task = service.get(id);
-        at.geise.test.springboot4test.domain.Comment comment = new at.geise.test.springboot4test.domain.Comment(task, text, "User");
-        comment = commentRepository.save(comment);
 
-        model.addAttribute("comment", comment);
+        model.addAttribute("comment", commentRepository.findById(created.id()).orElseThrow());
         model.addAttribute("task", task);
         return "fragments/task-activity :: comment";
     }
 
     @DeleteMapping("/{taskId}/comments/{commentId}")
     public String deleteComment(@PathVariable UUID taskId, @PathVariable UUID commentId, Model model) {
-        Task task = service.get(taskId);
-        commentRepository.deleteById(commentId);
+        commentService.deleteComment(commentId);
 
         // Reload activity feed
-        model.addAttribute("task", task);
-        model.addAttribute("activityLogs", activityLogRepository.findByTaskOrderByTimestampDesc(task));
-        model.addAttribute("comments", commentRepository.findByTaskOrderByCreatedAtAsc(task));
+        addDetail(taskDetailService.getDetail(taskId), model);
         return "fragments/task-activity :: activity";
     }
 
+    private static void addDetail(TaskDetailView detail, Model model) {
+        model.addAttribute("task", detail.task());
+        model.addAttribute("activityLogs", detail.activityLogs());
+        model.addAttribute("comments", detail.comments());
+    }
+
     @PutMapping("/{taskId}/comments/{commentId}")
     public ResponseEntity<?> updateComment(@PathVariable UUID commentId, @RequestParam String content) {
-        var comment = commentRepository.findById(commentId);
-        if (comment.isPresent()) {
-            var c = comment.get();
-            c.setContent(content);
-            commentRepository.save(c);
+        try {
+            commentService.updateComment(commentId, new UpdateCommentRequest(content));
             return ResponseEntity.ok().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.notFound().build();
     }
 
     @PostMapping("/{taskId}/comments/{commentId}/reactions")
-    public ResponseEntity<?> addReaction(@PathVariable UUID taskId, @PathVariable UUID commentId, @RequestParam String emoji) {
-        var comment = commentRepository.findById(commentId);
-        if (comment.isPresent()) {
-            var c = comment.get();
-            var reaction = reactionRepository.findByCommentAndEmoji(c, emoji);
-
-            if (reaction.isPresent()) {
-                // Increment existing reaction
-                var r = reaction.get();
-                r.setCount(r.getCount() + 1);
-                reactionRepository.save(r);
-            } else {
-                // Create new reaction
-                at.geise.test.springboot4test.domain.Reaction newReaction = new at.geise.test.springboot4test.domain.Reaction(c, emoji);
-                reactionRepository.save(newReaction);
-            }
+    public ResponseEntity<?> addReaction(@PathVariable UUID taskId, @PathVariable UUID commentId,
+                                         @RequestParam @NotBlank @Size(max = 32) String emoji) {
+        try {
+            commentService.addReaction(commentId, emoji);
             return ResponseEntity.ok().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.notFound().build();
     }
 }
@@ -0,0 +1,75 @@
+package at.geise.test.springboot4test.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cold storage for activity history past the retention window: all entries of one task within
+ * {@code [periodStart, periodEnd)}, compressed into {@code payload} (see {@code ActivityArchiveCodec}).
+ * {@code periodStart} is the oldest archived entry, so rows from separate runs over one month do not collide.
+ * Per-action totals are kept next to the payload, so counts and summaries never decompress it.
+ * Like the outbox there is no foreign key to {@code tasks}; archived history is read per task id.
+ */
+@Entity
+@Table(name = "activity_archive", indexes = @Index(name = "idx_activity_archive_task_period", columnList = "taskId, periodStart"))
+@Getter
+@Setter
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ActivityArchive {
+
+    @Id
+    @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuid.class)
+    UUID id;
+
+    @Column(nullable = false)
+    UUID taskId;
+
+    @Column(nullable = false)
+    LocalDateTime periodStart;
+
+    @Column(nullable = false)
+    LocalDateTime periodEnd;
+
+    @Column(nullable = false)
+    int entryCount;
+
+    // bytea on Postgres
+    @Column(nullable = false, length = 16 * 1024 * 1024)
+    byte[] payload;
+
+    @ElementCollection
+    @CollectionTable(name = "activity_archive_actions", joinColumns = @JoinColumn(name = "archive_id"))
+    List<ActionCount> actions = new ArrayList<>();
+
+    /** Number of archived entries with one action and the newest of them. */
+    @Embeddable
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class ActionCount {
+
+        @Column(nullable = false, length = 50)
+        String action;
+
+        @Column(nullable = false)
+        int entryCount;
+
+        @Column(nullable = false)
+        LocalDateTime lastActivity;
+    }
+}
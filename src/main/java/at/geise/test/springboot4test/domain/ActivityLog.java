@@ -9,12 +9,17 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @Entity
-@Table(name = "activity_logs")
+@Table(name = "activity_logs", indexes = {
+        @Index(name = "idx_activity_logs_task_action_timestamp", columnList = "task_id, action, timestamp"),
+        @Index(name = "idx_activity_logs_timestamp_id", columnList = "timestamp, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,7 +27,8 @@ import java.util.UUID;
 public class ActivityLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuid.class)
     UUID id;
 
     @NotNull
@@ -44,7 +50,8 @@ public class ActivityLog {
     @Size(max = 100)
     String author = "System"; // For now, we'll use a default author
 
-    LocalDateTime timestamp = LocalDateTime.now();
+    // Microsecond precision matches the column, so feed cursors taken from unsaved entries line up with stored rows
+    LocalDateTime timestamp = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
 
     public ActivityLog(Task task, String action, String oldValue, String newValue, String author) {
         this.task = task;
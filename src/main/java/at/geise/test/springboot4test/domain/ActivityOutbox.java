@@ -0,0 +1,59 @@
+package at.geise.test.springboot4test.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Transactional outbox row for an activity entry. Written in the same transaction as the
+ * change it describes and turned into an {@link ActivityLog} by the outbox relay. There is
+ * deliberately no foreign key to {@code tasks}, so the insert stays cheap and unordered.
+ */
+@Entity
+@Table(name = "activity_outbox", indexes = @Index(name = "idx_activity_outbox_created_at", columnList = "createdAt"))
+@Getter
+@Setter
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ActivityOutbox {
+
+    @Id
+    @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuid.class)
+    UUID id;
+
+    @Column(nullable = false)
+    UUID taskId;
+
+    @Column(nullable = false, length = 50)
+    String action;
+
+    String oldValue;
+
+    String newValue;
+
+    @Column(nullable = false, length = 100)
+    String author;
+
+    @Column(nullable = false)
+    LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    public static ActivityOutbox of(ActivityLog activityLog) {
+        ActivityOutbox outbox = new ActivityOutbox();
+        outbox.taskId = activityLog.getTask().getId();
+        outbox.action = activityLog.getAction();
+        outbox.oldValue = activityLog.getOldValue();
+        outbox.newValue = activityLog.getNewValue();
+        outbox.author = activityLog.getAuthor();
+        outbox.createdAt = activityLog.getTimestamp();
+        return outbox;
+    }
+}
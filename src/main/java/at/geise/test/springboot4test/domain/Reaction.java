@@ -6,12 +6,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "reactions")
+@Table(name = "reactions", uniqueConstraints = @UniqueConstraint(name = "uk_reactions_comment_emoji", columnNames = {"comment_id", "emoji"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,13 +20,15 @@ import java.util.UUID;
 public class Reaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuid.class)
     UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "comment_id", nullable = false)
     Comment comment;
 
+    @Column(nullable = false, length = 32)
     String emoji;
 
     Integer count = 0;
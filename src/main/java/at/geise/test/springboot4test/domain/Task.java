@@ -1,6 +1,5 @@
 package at.geise.test.springboot4test.domain;
 
-import at.geise.test.springboot4test.config.TaskChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotBlank;
@@ -11,21 +10,44 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 @Entity
-@Table(name = "tasks")
-@EntityListeners(TaskChangeListener.class)
+@Table(name = "tasks", indexes = {
+        // Keyset pagination: every sort order is (field, id); also serves range filters on the field
+        @Index(name = "idx_tasks_created_at_id", columnList = "createdAt, id"),
+        @Index(name = "idx_tasks_title_id", columnList = "title, id"),
+        @Index(name = "idx_tasks_priority_id", columnList = "priority, id"),
+        @Index(name = "idx_tasks_status_id", columnList = "status, id"),
+        @Index(name = "idx_tasks_due_date_id", columnList = "dueDate, id"),
+        // Status or priority filter in the default (createdAt, id) order; the other filters are applied on the way
+        @Index(name = "idx_tasks_status_created_at_id", columnList = "status, createdAt, id"),
+        @Index(name = "idx_tasks_priority_created_at_id", columnList = "priority, createdAt, id"),
+        // Recently-updated window; not a sort field
+        @Index(name = "idx_tasks_updated_at", columnList = "updatedAt")
+})
+// Read-write second-level cache: updates and deletes through the EntityManager refresh or evict the entry on commit
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Task.CACHE_REGION)
+// UPDATE statements only carry the columns that actually changed (plus the version check)
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Task {
 
+    public static final String CACHE_REGION = "tasks";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(algorithm = TimeOrderedUuid.class)
     UUID id;
 
     @NotBlank
@@ -50,6 +72,25 @@ public class Task {
 
     LocalDateTime updatedAt;
 
+    // Optimistic locking: every UPDATE checks and increments it, so a concurrent write fails instead of being overwritten
+    @Version
+    @Column(nullable = false)
+    Long version;
+
+    // Columns hold microseconds and round the rest, so truncate up front to keep keyset cursors built
+    // from an in-memory entity identical to the stored value
+    @PrePersist
+    @PreUpdate
+    void truncateTimestamps() {
+        createdAt = truncate(createdAt);
+        updatedAt = truncate(updatedAt);
+        dueDate = truncate(dueDate);
+    }
+
+    private static LocalDateTime truncate(LocalDateTime value) {
+        return value == null ? null : value.truncatedTo(ChronoUnit.MICROS);
+    }
+
     public enum Priority { LOW, MEDIUM, HIGH }
     public enum Status { TODO, IN_PROGRESS, DONE }
 }
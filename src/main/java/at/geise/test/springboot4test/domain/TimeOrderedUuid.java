@@ -0,0 +1,33 @@
+package at.geise.test.springboot4test.domain;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUIDv7 (RFC 9562) identifiers: a 48-bit millisecond timestamp, then a 12-bit sequence that keeps
+ * ids generated in this JVM strictly increasing, then 62 random bits. New rows land at the right edge
+ * of primary key indexes instead of random pages. Entities use it via {@code @UuidGenerator}, JDBC
+ * batch writers call {@link #next()} so both paths produce the same kind of id.
+ */
+public final class TimeOrderedUuid implements UuidValueGenerator {
+
+    private static final AtomicLong LAST_STAMP = new AtomicLong();
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        // Millisecond in the high bits, sequence in the low 12; overflowing the sequence borrows the next millisecond
+        long stamp = LAST_STAMP.updateAndGet(last -> Math.max(last + 1, now));
+        long mostSigBits = (stamp >>> 12) << 16 | 0x7000L | (stamp & 0xFFFL);
+        long leastSigBits = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+}
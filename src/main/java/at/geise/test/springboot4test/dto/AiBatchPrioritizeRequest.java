@@ -0,0 +1,14 @@
+package at.geise.test.springboot4test.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for batch AI prioritization - suggestions are returned in the same order as {@code tasks}
+ */
+public record AiBatchPrioritizeRequest(
+        @NotEmpty @Size(max = 200) List<@Valid AiTaskSuggestionRequest> tasks
+) {}
@@ -0,0 +1,24 @@
+package at.geise.test.springboot4test.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Delta pushed to websocket clients after a committed change. {@code data} carries the new
+ * state ({@link TaskDto}, {@link CommentDto} or {@link ActivityLogDto}) and is null for deletions.
+ */
+public record ChangeEventDto(
+        Type type,
+        Action action,
+        UUID taskId,
+        UUID id,
+        Object data,
+        LocalDateTime timestamp
+) {
+    public enum Type { TASK, COMMENT, ACTIVITY }
+    public enum Action { CREATED, UPDATED, DELETED }
+
+    public static ChangeEventDto of(Type type, Action action, UUID taskId, UUID id, Object data) {
+        return new ChangeEventDto(type, action, taskId, id, data, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,16 @@
+package at.geise.test.springboot4test.dto;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated listing. {@code nextCursor} is an opaque token to pass back
+ * for the following slice and is {@code null} on the last one. No total count is computed.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor
+) {
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
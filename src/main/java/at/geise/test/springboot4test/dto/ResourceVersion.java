@@ -0,0 +1,13 @@
+package at.geise.test.springboot4test.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap change marker for a task or a collection: how many rows it has and when the newest of them was
+ * created or last modified. Any insert or update moves {@code lastModified}, any delete lowers {@code count}.
+ */
+public record ResourceVersion(
+        long count,
+        LocalDateTime lastModified
+) {
+}
@@ -0,0 +1,13 @@
+package at.geise.test.springboot4test.dto;
+
+/**
+ * One task field whose value an update actually changed. Values are the field's own type
+ * ({@code String}, the enums, {@code LocalDateTime}) and may be {@code null}.
+ */
+public record TaskChange(
+        Field field,
+        Object oldValue,
+        Object newValue
+) {
+    public enum Field { STATUS, PRIORITY, TITLE, DESCRIPTION, DUE_DATE }
+}
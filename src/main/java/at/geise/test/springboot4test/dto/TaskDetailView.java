@@ -0,0 +1,17 @@
+package at.geise.test.springboot4test.dto;
+
+import at.geise.test.springboot4test.domain.ActivityLog;
+import at.geise.test.springboot4test.domain.Comment;
+
+import java.util.List;
+
+/**
+ * Everything the task edit view renders, loaded up front so the template never triggers lazy loads.
+ * Comments carry their reactions initialized.
+ */
+public record TaskDetailView(
+        TaskDto task,
+        List<ActivityLog> activityLogs,
+        List<Comment> comments
+) {
+}
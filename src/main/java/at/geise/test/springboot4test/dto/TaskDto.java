@@ -6,6 +6,7 @@ import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import jakarta.validation.groups.Default;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDateTime;
@@ -13,9 +14,13 @@ import java.util.UUID;
 
 public record TaskDto(
         UUID id,
-        @NotBlank @Size(max = 255) String title,
-        @Size(max = 4000) String description,
-        @NotNull Priority priority,
-        @NotNull Status status,
+        @NotBlank(groups = {Default.class, Import.class}) @Size(max = 255, groups = {Default.class, Import.class}) String title,
+        @Size(max = 4000, groups = {Default.class, Import.class}) String description,
+        @NotNull(groups = {Default.class, Import.class}) Priority priority,
+        @NotNull(groups = {Default.class, Import.class}) Status status,
         @FutureOrPresent @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueDate
-) {}
+) {
+
+    /** Validation group for bulk imports: the same rules except that migrated tasks may already be overdue. */
+    public interface Import {}
+}
@@ -0,0 +1,25 @@
+package at.geise.test.springboot4test.dto;
+
+import at.geise.test.springboot4test.domain.Task;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Task listing criteria. Every non-null field narrows the result; ranges are inclusive and may
+ * be open on either side.
+ */
+public record TaskFilter(
+        Task.Status status,
+        Task.Priority priority,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedTo
+) {
+    public static TaskFilter of(Task.Status status, Task.Priority priority) {
+        return new TaskFilter(status, priority, null, null, null, null, null, null);
+    }
+}
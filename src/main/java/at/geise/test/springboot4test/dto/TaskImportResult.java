@@ -0,0 +1,16 @@
+package at.geise.test.springboot4test.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Rejected rows are skipped, not fatal; {@code errors} lists the first
+ * ones with their 1-based line number.
+ */
+public record TaskImportResult(
+        long imported,
+        long rejected,
+        List<RowError> errors
+) {
+    public record RowError(long line, String message) {
+    }
+}
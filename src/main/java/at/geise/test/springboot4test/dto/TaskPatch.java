@@ -0,0 +1,56 @@
+package at.geise.test.springboot4test.dto;
+
+import at.geise.test.springboot4test.domain.Task.Priority;
+import at.geise.test.springboot4test.domain.Task.Status;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Partial task update. A field missing from the request is {@code null} here and stays unchanged; a
+ * field sent as JSON {@code null} is an empty {@link Optional} and clears the value, which only
+ * {@code description} and {@code dueDate} allow. {@code version} is the task version the client has
+ * seen; the update is rejected when the task has moved on since.
+ * <p>
+ * Bound through setters rather than as a record: Jackson passes an empty {@link Optional} for absent
+ * constructor parameters, which would make "missing" and "null" indistinguishable.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class TaskPatch {
+
+    @NotNull
+    Long version;
+
+    Optional<@NotBlank @Size(max = 255) String> title;
+
+    Optional<@Size(max = 4000) String> description;
+
+    Optional<@NotNull Priority> priority;
+
+    Optional<@NotNull Status> status;
+
+    Optional<@FutureOrPresent LocalDateTime> dueDate;
+
+    @JsonCreator
+    public TaskPatch() {
+    }
+
+    /** Every field of {@code dto} as a patch against {@code version}. */
+    public static TaskPatch of(TaskDto dto, Long version) {
+        return new TaskPatch(version, Optional.ofNullable(dto.title()), Optional.ofNullable(dto.description()),
+                Optional.ofNullable(dto.priority()), Optional.ofNullable(dto.status()), Optional.ofNullable(dto.dueDate()));
+    }
+}
@@ -0,0 +1,24 @@
+package at.geise.test.springboot4test.dto;
+
+import at.geise.test.springboot4test.domain.Task;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Search result row; {@code rank} is relative to the other hits of the same query.
+ */
+public record TaskSearchHit(
+        UUID id,
+        String title,
+        String description,
+        Task.Priority priority,
+        Task.Status status,
+        LocalDateTime dueDate,
+        double rank
+) {
+    public static TaskSearchHit of(Task task, double rank) {
+        return new TaskSearchHit(task.getId(), task.getTitle(), task.getDescription(), task.getPriority(),
+                task.getStatus(), task.getDueDate(), rank);
+    }
+}
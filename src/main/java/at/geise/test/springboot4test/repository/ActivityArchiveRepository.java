@@ -0,0 +1,45 @@
+package at.geise.test.springboot4test.repository;
+
+import at.geise.test.springboot4test.domain.ActivityArchive;
+import at.geise.test.springboot4test.dto.ActivitySummaryDto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ActivityArchiveRepository extends JpaRepository<ActivityArchive, UUID> {
+
+    // Newest first; a month archived in several runs has one row per run, told apart by their periods
+    List<ActivityArchive> findByTaskIdOrderByPeriodStartDescPeriodEndDescIdDesc(UUID taskId);
+
+    // Read from the row headers; payloads stay compressed
+    @Query("SELECT COALESCE(SUM(a.entryCount), 0) FROM ActivityArchive a WHERE a.taskId = :taskId")
+    long countEntriesByTaskId(@Param("taskId") UUID taskId);
+
+    // Same order as findByTaskIdOrderByPeriodStartDescPeriodEndDescIdDesc, without the payloads
+    @Query("""
+            SELECT a.id AS id, a.entryCount AS entryCount FROM ActivityArchive a WHERE a.taskId = :taskId
+            ORDER BY a.periodStart DESC, a.periodEnd DESC, a.id DESC
+            """)
+    List<ArchiveHeader> findHeadersByTaskId(@Param("taskId") UUID taskId);
+
+    @Query("SELECT a.payload FROM ActivityArchive a WHERE a.id = :id")
+    byte[] findPayloadById(@Param("id") UUID id);
+
+    @Query("""
+            SELECT new at.geise.test.springboot4test.dto.ActivitySummaryDto(c.action, SUM(c.entryCount), MAX(c.lastActivity))
+            FROM ActivityArchive a JOIN a.actions c WHERE a.taskId = :taskId
+            GROUP BY c.action ORDER BY c.action
+            """)
+    List<ActivitySummaryDto> summarizeByTaskId(@Param("taskId") UUID taskId);
+
+    /** Archive row header: enough to skip whole rows when paging. */
+    interface ArchiveHeader {
+
+        UUID getId();
+
+        int getEntryCount();
+    }
+}
@@ -1,31 +1,80 @@
 package at.geise.test.springboot4test.repository;
 
 import at.geise.test.springboot4test.domain.ActivityLog;
-import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.ActivityLogDto;
+import at.geise.test.springboot4test.dto.ActivitySummaryDto;
+import at.geise.test.springboot4test.dto.ResourceVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ActivityLogRepository extends JpaRepository<ActivityLog, UUID> {
 
-    List<ActivityLog> findByTaskOrderByTimestampDesc(Task task);
-
-    Page<ActivityLog> findByTaskOrderByTimestampDesc(Task task, Pageable pageable);
-
     @Query("SELECT a FROM ActivityLog a WHERE a.task.id = :taskId ORDER BY a.timestamp DESC")
     List<ActivityLog> findByTaskIdOrderByTimestampDesc(@Param("taskId") UUID taskId);
 
     @Query("SELECT a FROM ActivityLog a WHERE a.task.id = :taskId ORDER BY a.timestamp DESC")
     Page<ActivityLog> findByTaskIdOrderByTimestampDesc(@Param("taskId") UUID taskId, Pageable pageable);
 
+    // Per-task listings projected into DTOs, so neither the entries nor their task are hydrated
+    @Query("""
+            SELECT new at.geise.test.springboot4test.dto.ActivityLogDto(a.id, a.task.id, a.action, a.oldValue, a.newValue, a.author, a.timestamp)
+            FROM ActivityLog a WHERE a.task.id = :taskId ORDER BY a.timestamp DESC
+            """)
+    List<ActivityLogDto> findDtosByTaskId(@Param("taskId") UUID taskId);
+
+    @Query(value = """
+            SELECT new at.geise.test.springboot4test.dto.ActivityLogDto(a.id, a.task.id, a.action, a.oldValue, a.newValue, a.author, a.timestamp)
+            FROM ActivityLog a WHERE a.task.id = :taskId ORDER BY a.timestamp DESC
+            """,
+            countQuery = "SELECT COUNT(a) FROM ActivityLog a WHERE a.task.id = :taskId")
+    Page<ActivityLogDto> findDtosByTaskId(@Param("taskId") UUID taskId, Pageable pageable);
+
+    // List rather than Page: the edit view only needs the latest entries, not a count
+    @Query("SELECT a FROM ActivityLog a WHERE a.task.id = :taskId ORDER BY a.timestamp DESC")
+    List<ActivityLog> findRecentByTaskId(@Param("taskId") UUID taskId, Pageable pageable);
+
     @Query("SELECT a FROM ActivityLog a WHERE a.task.id IN :taskIds ORDER BY a.timestamp DESC")
     List<ActivityLog> findByTaskIdsOrderByTimestampDesc(@Param("taskIds") List<UUID> taskIds);
 
-    long countByTask(Task task);
-}
+    // Global feed: projected straight into DTOs (no entity or task hydration), walked via the (timestamp, id) index
+    @Query("""
+            SELECT new at.geise.test.springboot4test.dto.ActivityLogDto(a.id, a.task.id, a.action, a.oldValue, a.newValue, a.author, a.timestamp)
+            FROM ActivityLog a ORDER BY a.timestamp DESC, a.id DESC
+            """)
+    List<ActivityLogDto> findLatest(Pageable pageable);
+
+    @Query("""
+            SELECT new at.geise.test.springboot4test.dto.ActivityLogDto(a.id, a.task.id, a.action, a.oldValue, a.newValue, a.author, a.timestamp)
+            FROM ActivityLog a
+            WHERE a.timestamp <= :timestamp AND (a.timestamp < :timestamp OR a.id < :id)
+            ORDER BY a.timestamp DESC, a.id DESC
+            """)
+    List<ActivityLogDto> findLatestBefore(@Param("timestamp") LocalDateTime timestamp, @Param("id") UUID id, Pageable pageable);
+
+    // Aggregated in the database; served from the (task_id, action, timestamp) index without loading entities
+    @Query("""
+            SELECT new at.geise.test.springboot4test.dto.ActivitySummaryDto(a.action, COUNT(a), MAX(a.timestamp))
+            FROM ActivityLog a WHERE a.task.id = :taskId
+            GROUP BY a.action ORDER BY a.action
+            """)
+    List<ActivitySummaryDto> summarizeByTaskId(@Param("taskId") UUID taskId);
 
+    // Empty when the task does not exist, 0 when it has no activity: existence and count in one statement
+    @Query("SELECT COUNT(a) FROM Task t LEFT JOIN ActivityLog a ON a.task = t WHERE t.id = :taskId GROUP BY t.id")
+    Optional<Long> countIfTaskExists(@Param("taskId") UUID taskId);
+
+    // Empty when the task does not exist; see ResourceVersion
+    @Query("""
+            SELECT new at.geise.test.springboot4test.dto.ResourceVersion(COUNT(a), MAX(a.timestamp))
+            FROM Task t LEFT JOIN ActivityLog a ON a.task = t WHERE t.id = :taskId GROUP BY t.id
+            """)
+    Optional<ResourceVersion> findVersionIfTaskExists(@Param("taskId") UUID taskId);
+}
@@ -0,0 +1,10 @@
+package at.geise.test.springboot4test.repository;
+
+import at.geise.test.springboot4test.domain.ActivityOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+// Claiming and relaying batches is native SQL in ActivityOutboxRelay (FOR UPDATE SKIP LOCKED)
+public interface ActivityOutboxRepository extends JpaRepository<ActivityOutbox, UUID> {
+}
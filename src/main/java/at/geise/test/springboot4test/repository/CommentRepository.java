@@ -1,21 +1,42 @@
 package at.geise.test.springboot4test.repository;
 
 import at.geise.test.springboot4test.domain.Comment;
-import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.CommentDto;
+import at.geise.test.springboot4test.dto.ResourceVersion;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface CommentRepository extends JpaRepository<Comment, UUID> {
 
-    List<Comment> findByTaskOrderByCreatedAtAsc(Task task);
-
     @Query("SELECT c FROM Comment c WHERE c.task.id = :taskId ORDER BY c.createdAt ASC")
     List<Comment> findByTaskIdOrderByCreatedAtAsc(@Param("taskId") UUID taskId);
 
-    long countByTask(Task task);
-}
+    // Projected straight into DTOs: neither the comments nor their task are hydrated
+    @Query("""
+            SELECT new at.geise.test.springboot4test.dto.CommentDto(c.id, c.task.id, c.content, c.author, c.createdAt, c.updatedAt)
+            FROM Comment c WHERE c.task.id = :taskId ORDER BY c.createdAt ASC
+            """)
+    List<CommentDto> findDtosByTaskId(@Param("taskId") UUID taskId);
+
+    // Reactions are fetch-joined so rendering a task's comments is one statement, not one per comment
+    @EntityGraph(attributePaths = "reactions")
+    @Query("SELECT c FROM Comment c WHERE c.task.id = :taskId ORDER BY c.createdAt ASC")
+    List<Comment> findWithReactionsByTaskId(@Param("taskId") UUID taskId);
+
+    // Empty when the task does not exist, 0 when it has no comments: existence and count in one statement
+    @Query("SELECT COUNT(c) FROM Task t LEFT JOIN Comment c ON c.task = t WHERE t.id = :taskId GROUP BY t.id")
+    Optional<Long> countIfTaskExists(@Param("taskId") UUID taskId);
 
+    // Empty when the task does not exist; see ResourceVersion
+    @Query("""
+            SELECT new at.geise.test.springboot4test.dto.ResourceVersion(COUNT(c), MAX(COALESCE(c.updatedAt, c.createdAt)))
+            FROM Task t LEFT JOIN Comment c ON c.task = t WHERE t.id = :taskId GROUP BY t.id
+            """)
+    Optional<ResourceVersion> findVersionIfTaskExists(@Param("taskId") UUID taskId);
+}
@@ -1,16 +1,21 @@
 package at.geise.test.springboot4test.repository;
 
 import at.geise.test.springboot4test.domain.Task;
-import at.geise.test.springboot4test.domain.Task.Status;
-import at.geise.test.springboot4test.domain.Task.Priority;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import at.geise.test.springboot4test.dto.ResourceVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Optional;
 import java.util.UUID;
 
-public interface TaskRepository extends JpaRepository<Task, UUID> {
-    Page<Task> findByStatus(Status status, Pageable pageable);
-    Page<Task> findByPriority(Priority priority, Pageable pageable);
-}
+public interface TaskRepository extends JpaRepository<Task, UUID>, JpaSpecificationExecutor<Task> {
+
+    // ETag sources: single columns or aggregates, no Task is hydrated
+    @Query("SELECT t.version FROM Task t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
 
+    @Query("SELECT new at.geise.test.springboot4test.dto.ResourceVersion(COUNT(t), MAX(COALESCE(t.updatedAt, t.createdAt))) FROM Task t")
+    ResourceVersion findVersion();
+}
@@ -0,0 +1,51 @@
+package at.geise.test.springboot4test.repository;
+
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.TaskFilter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Composable predicates for {@link Task} queries. Each one is a no-op when its arguments are null,
+ * so a {@link TaskFilter} translates into a single WHERE clause with only the criteria set.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(TaskFilter filter) {
+        if (filter == null) {
+            return Specification.unrestricted();
+        }
+        return hasStatus(filter.status())
+                .and(hasPriority(filter.priority()))
+                .and(between("dueDate", filter.dueFrom(), filter.dueTo()))
+                .and(between("createdAt", filter.createdFrom(), filter.createdTo()))
+                .and(between("updatedAt", filter.updatedFrom(), filter.updatedTo()));
+    }
+
+    public static Specification<Task> hasStatus(Task.Status status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> hasPriority(Task.Priority priority) {
+        return (root, query, cb) -> priority == null ? null : cb.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<Task> between(String property, LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.between(root.get(property), from, to);
+            }
+            if (from != null) {
+                return cb.greaterThanOrEqualTo(root.get(property), from);
+            }
+            if (to != null) {
+                return cb.lessThanOrEqualTo(root.get(property), to);
+            }
+            return null;
+        };
+    }
+}
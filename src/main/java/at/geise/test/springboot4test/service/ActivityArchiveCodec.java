@@ -0,0 +1,91 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.dto.ActivityLogDto;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compact binary form of one task's archived activity: a version byte and the entry count, then per
+ * entry (oldest first) the id, the timestamp as microseconds since the previous entry, and the text
+ * columns, all gzip-compressed. The task id is stored once on the archive row instead of per entry.
+ */
+final class ActivityArchiveCodec {
+
+    private static final byte VERSION = 1;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private ActivityArchiveCodec() {
+    }
+
+    /** Encodes entries of a single task, which must be ordered oldest first. */
+    static byte[] encode(List<ActivityLogDto> entries) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+            out.writeByte(VERSION);
+            out.writeInt(entries.size());
+            long previous = 0;
+            for (ActivityLogDto entry : entries) {
+                long micros = ChronoUnit.MICROS.between(EPOCH, entry.timestamp());
+                out.writeLong(entry.id().getMostSignificantBits());
+                out.writeLong(entry.id().getLeastSignificantBits());
+                out.writeLong(micros - previous);
+                out.writeUTF(entry.action());
+                writeNullable(out, entry.oldValue());
+                writeNullable(out, entry.newValue());
+                out.writeUTF(entry.author());
+                previous = micros;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Decodes an archive payload, oldest entry first. */
+    static List<ActivityLogDto> decode(UUID taskId, byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(payload)))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported activity archive version: " + version);
+            }
+            int count = in.readInt();
+            List<ActivityLogDto> entries = new ArrayList<>(count);
+            long micros = 0;
+            for (int i = 0; i < count; i++) {
+                UUID id = new UUID(in.readLong(), in.readLong());
+                micros += in.readLong();
+                String action = in.readUTF();
+                String oldValue = readNullable(in);
+                String newValue = readNullable(in);
+                String author = in.readUTF();
+                entries.add(new ActivityLogDto(id, taskId, action, oldValue, newValue, author, EPOCH.plus(micros, ChronoUnit.MICROS)));
+            }
+            return entries;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
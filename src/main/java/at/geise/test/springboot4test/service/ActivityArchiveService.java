@@ -0,0 +1,228 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.domain.ActivityArchive;
+import at.geise.test.springboot4test.domain.TimeOrderedUuid;
+import at.geise.test.springboot4test.dto.ActivityLogDto;
+import at.geise.test.springboot4test.dto.ActivitySummaryDto;
+import at.geise.test.springboot4test.repository.ActivityArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Retention for {@code activity_logs}: entries older than {@code activity.retention.hot-period} move to
+ * {@link ActivityArchive}, one compressed row per task and month, so the live table only holds recent
+ * history. On Postgres ({@link ActivityLogPartitions}) whole monthly partitions are archived and then
+ * detached and dropped; elsewhere rows are archived and deleted month by month up to the cutoff.
+ * Rows that ended up in the default partition are archived row-wise as well. Each month is handled in
+ * its own transaction. Runs on {@code activity.retention.cron} (off by default).
+ * <p>
+ * Task reads always consult the archive (one indexed lookup by task id): any instance may have archived,
+ * so no local state can tell that the archive is empty. After archiving, this instance's
+ * {@link RecentActivityBuffer} is reloaded so the feed no longer shows the moved entries.
+ */
+@Service
+@Slf4j
+public class ActivityArchiveService {
+
+    static final String INSERT_SQL = """
+            INSERT INTO activity_archive (id, task_id, period_start, period_end, entry_count, payload)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+    static final String INSERT_ACTION_SQL = """
+            INSERT INTO activity_archive_actions (archive_id, action, entry_count, last_activity) VALUES (?, ?, ?, ?)
+            """;
+    static final int INSERT_BATCH_SIZE = 100;
+    static final String SELECT_SQL = """
+            SELECT id, task_id, action, old_value, new_value, author, timestamp FROM %s
+            WHERE timestamp >= ? AND timestamp < ? ORDER BY task_id, timestamp, id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ActivityArchiveRepository archiveRepository;
+    private final ObjectProvider<ActivityLogPartitions> partitions;
+    private final RecentActivityBuffer recentActivityBuffer;
+    private final Duration hotPeriod;
+
+    public ActivityArchiveService(JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  ActivityArchiveRepository archiveRepository,
+                                  ObjectProvider<ActivityLogPartitions> partitions,
+                                  RecentActivityBuffer recentActivityBuffer,
+                                  @Value("${activity.retention.hot-period:90d}") Duration hotPeriod) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveRepository = archiveRepository;
+        this.partitions = partitions;
+        this.recentActivityBuffer = recentActivityBuffer;
+        this.hotPeriod = hotPeriod;
+    }
+
+    @Scheduled(cron = "${activity.retention.cron:-}")
+    public void applyRetention() {
+        partitions.ifAvailable(ActivityLogPartitions::createAhead);
+        long archived = archiveOlderThan(LocalDateTime.now().minus(hotPeriod));
+        log.info("Activity retention archived {} entries older than {}", archived, hotPeriod);
+    }
+
+    /** Moves entries older than {@code cutoff} into the archive and returns how many were moved. */
+    public long archiveOlderThan(LocalDateTime cutoff) {
+        long archived = archiveLiveEntries(cutoff);
+        if (archived > 0) {
+            recentActivityBuffer.reload();
+        }
+        return archived;
+    }
+
+    private long archiveLiveEntries(LocalDateTime cutoff) {
+        ActivityLogPartitions partitioned = partitions.getIfAvailable();
+        if (partitioned == null) {
+            return archiveRows("activity_logs", cutoff);
+        }
+        long archived = 0;
+        // Only whole months: the partition is dropped afterwards
+        for (YearMonth month : partitioned.monthsBefore(cutoff)) {
+            archived += inTransaction(() -> {
+                long moved = archive(partitioned.tableName(month), month.atDay(1).atStartOfDay(),
+                        month.plusMonths(1).atDay(1).atStartOfDay());
+                partitioned.drop(month);
+                return moved;
+            });
+        }
+        return archived + archiveRows(ActivityLogPartitions.DEFAULT_PARTITION, cutoff);
+    }
+
+    /**
+     * Up to {@code limit} archived entries of a task after skipping the {@code skip} newest. Rows wholly
+     * inside the skipped range are passed over by their entry count; only rows that contribute are decoded.
+     */
+    public List<ActivityLogDto> entriesForTask(UUID taskId, long skip, int limit) {
+        List<ActivityLogDto> entries = new ArrayList<>(limit);
+        long toSkip = skip;
+        for (ActivityArchiveRepository.ArchiveHeader header : archiveRepository.findHeadersByTaskId(taskId)) {
+            if (entries.size() >= limit) {
+                break;
+            }
+            if (toSkip >= header.getEntryCount()) {
+                toSkip -= header.getEntryCount();
+                continue;
+            }
+            List<ActivityLogDto> period = ActivityArchiveCodec.decode(taskId, archiveRepository.findPayloadById(header.getId()));
+            Collections.reverse(period);
+            period.stream().skip(toSkip).limit(limit - entries.size()).forEach(entries::add);
+            toSkip = 0;
+        }
+        return entries;
+    }
+
+    /** Per-action totals of a task's archived entries, from the row headers. */
+    public List<ActivitySummaryDto> summaryForTask(UUID taskId) {
+        return archiveRepository.summarizeByTaskId(taskId);
+    }
+
+    /** Archived entries of a task, newest first; all of them are older than any live entry. */
+    public List<ActivityLogDto> entriesForTask(UUID taskId) {
+        List<ActivityLogDto> entries = new ArrayList<>();
+        for (ActivityArchive archive : archiveRepository.findByTaskIdOrderByPeriodStartDescPeriodEndDescIdDesc(taskId)) {
+            List<ActivityLogDto> period = ActivityArchiveCodec.decode(taskId, archive.getPayload());
+            Collections.reverse(period);
+            entries.addAll(period);
+        }
+        return entries;
+    }
+
+    public long countForTask(UUID taskId) {
+        return archiveRepository.countEntriesByTaskId(taskId);
+    }
+
+    // Month by month up to the cutoff, deleting what was archived
+    private long archiveRows(String table, LocalDateTime cutoff) {
+        long archived = 0;
+        LocalDateTime oldest;
+        while ((oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(timestamp) FROM " + table + " WHERE timestamp < ?", LocalDateTime.class, cutoff)) != null) {
+            LocalDateTime from = YearMonth.from(oldest).atDay(1).atStartOfDay();
+            LocalDateTime monthEnd = from.plusMonths(1);
+            LocalDateTime to = monthEnd.isBefore(cutoff) ? monthEnd : cutoff;
+            archived += inTransaction(() -> {
+                long moved = archive(table, from, to);
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE timestamp >= ? AND timestamp < ?", from, to);
+                return moved;
+            });
+        }
+        return archived;
+    }
+
+    private long inTransaction(LongSupplier work) {
+        Long moved = transactionTemplate.execute(status -> work.getAsLong());
+        return moved != null ? moved : 0;
+    }
+
+    // Rows arrive grouped by task, oldest first; each group becomes one archive row plus its per-action totals
+    private long archive(String table, LocalDateTime from, LocalDateTime to) {
+        List<Object[]> rows = new ArrayList<>();
+        List<Object[]> actions = new ArrayList<>();
+        List<ActivityLogDto> group = new ArrayList<>();
+        long[] count = {0};
+        jdbcTemplate.query(SELECT_SQL.formatted(table), rs -> {
+            UUID taskId = rs.getObject("task_id", UUID.class);
+            if (!group.isEmpty() && !group.get(0).taskId().equals(taskId)) {
+                addArchiveRow(group, to, rows, actions);
+                group.clear();
+                if (rows.size() >= INSERT_BATCH_SIZE) {
+                    insert(rows, actions);
+                }
+            }
+            group.add(new ActivityLogDto(rs.getObject("id", UUID.class), taskId, rs.getString("action"),
+                    rs.getString("old_value"), rs.getString("new_value"), rs.getString("author"),
+                    rs.getObject("timestamp", LocalDateTime.class)));
+            count[0]++;
+        }, from, to);
+        if (!group.isEmpty()) {
+            addArchiveRow(group, to, rows, actions);
+        }
+        if (!rows.isEmpty()) {
+            insert(rows, actions);
+        }
+        return count[0];
+    }
+
+    private void insert(List<Object[]> rows, List<Object[]> actions) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        jdbcTemplate.batchUpdate(INSERT_ACTION_SQL, actions);
+        rows.clear();
+        actions.clear();
+    }
+
+    // The period starts at the oldest entry, not the month: a later run over the rest of the month starts after it
+    private static void addArchiveRow(List<ActivityLogDto> entries, LocalDateTime to, List<Object[]> rows, List<Object[]> actions) {
+        UUID id = TimeOrderedUuid.next();
+        rows.add(new Object[]{id, entries.get(0).taskId(), entries.get(0).timestamp(), to, entries.size(),
+                ActivityArchiveCodec.encode(entries)});
+        // Entries are oldest first, so the last one seen per action is its newest
+        Map<String, ActivityArchive.ActionCount> byAction = new TreeMap<>();
+        for (ActivityLogDto entry : entries) {
+            ActivityArchive.ActionCount total = byAction.computeIfAbsent(entry.action(),
+                    action -> new ActivityArchive.ActionCount(action, 0, entry.timestamp()));
+            total.setEntryCount(total.getEntryCount() + 1);
+            total.setLastActivity(entry.timestamp());
+        }
+        byAction.values().forEach(total -> actions.add(new Object[]{id, total.getAction(), total.getEntryCount(), total.getLastActivity()}));
+    }
+}
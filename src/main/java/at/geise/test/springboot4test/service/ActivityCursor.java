@@ -0,0 +1,30 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.dto.ActivityLogDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/** Position in the global activity feed, ordered by {@code (timestamp, id)} descending. */
+record ActivityCursor(LocalDateTime timestamp, UUID id) {
+
+    static ActivityCursor after(ActivityLogDto last) {
+        return new ActivityCursor(last.timestamp(), last.id());
+    }
+
+    String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ActivityCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 2);
+            return new ActivityCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package at.geise.test.springboot4test.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Monthly range partitions of {@code activity_logs} on Postgres, named {@code activity_logs_pYYYYMM}.
+ * On startup an unpartitioned table is converted once (see {@code db/postgres/activity-logs-partitioning.sql}),
+ * under a transaction-scoped advisory lock so that only one of several starting instances converts;
+ * the others wait and find the table already partitioned.
+ * partitions for the current and the next {@code activity.partitioning.months-ahead} months are created
+ * on startup and by every retention run, so inserts never land in the default partition.
+ */
+@Component
+@Profile("prod")
+@Slf4j
+public class ActivityLogPartitions {
+
+    static final String CONVERSION_SCRIPT = "db/postgres/activity-logs-partitioning.sql";
+    static final String DEFAULT_PARTITION = "activity_logs_default";
+    // Arbitrary application-wide key for pg_advisory_xact_lock
+    static final long CONVERSION_LOCK = 0x61637469766974L;
+    static final String IS_PARTITIONED_SQL = """
+            SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid
+                           WHERE c.relname = 'activity_logs' AND pg_table_is_visible(c.oid))
+            """;
+    static final String PARTITIONS_SQL = """
+            SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'activity_logs'::regclass
+            """;
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("activity_logs_p(\\d{6})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+
+    public ActivityLogPartitions(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${activity.partitioning.months-ahead:2}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!isPartitioned()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", CONVERSION_LOCK);
+                // Another instance may have converted while this one waited for the lock
+                if (isPartitioned()) {
+                    return;
+                }
+                log.info("Converting activity_logs into monthly partitions");
+                ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(CONVERSION_SCRIPT));
+                // Sent as one statement: the DO block contains semicolons
+                populator.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+                populator.execute(Objects.requireNonNull(jdbcTemplate.getDataSource()));
+            });
+        }
+        createAhead();
+    }
+
+    private boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED_SQL, Boolean.class));
+    }
+
+    /** Creates missing partitions from the current month up to {@code months-ahead} months later. */
+    public void createAhead() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + tableName(month)
+                        + " PARTITION OF activity_logs FOR VALUES FROM ('" + start(month) + "') TO ('" + start(month.plusMonths(1)) + "')");
+            } catch (DataAccessException e) {
+                // Typically rows for that month already sit in the default partition
+                log.warn("Could not create activity partition {}: {}", tableName(month), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Monthly partitions whose whole range lies before {@code cutoff}, oldest first. Rows in
+     * {@link #DEFAULT_PARTITION} are not covered; the caller archives them separately.
+     */
+    public List<YearMonth> monthsBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.queryForList(PARTITIONS_SQL, String.class).stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(m -> YearMonth.parse(m.group(1), SUFFIX))
+                .filter(month -> !start(month.plusMonths(1)).atStartOfDay().isAfter(cutoff))
+                .sorted()
+                .toList();
+    }
+
+    /** Detaches and drops a partition; call inside the transaction that archived its rows. */
+    public void drop(YearMonth month) {
+        jdbcTemplate.execute("ALTER TABLE activity_logs DETACH PARTITION " + tableName(month));
+        jdbcTemplate.execute("DROP TABLE " + tableName(month));
+    }
+
+    public String tableName(YearMonth month) {
+        return "activity_logs_p" + month.format(SUFFIX);
+    }
+
+    static LocalDate start(YearMonth month) {
+        return month.atDay(1);
+    }
+}
@@ -1,151 +1,208 @@
 package at.geise.test.springboot4test.service;
 
 import at.geise.test.springboot4test.domain.ActivityLog;
+import at.geise.test.springboot4test.domain.ActivityOutbox;
 import at.geise.test.springboot4test.domain.Task;
 import at.geise.test.springboot4test.dto.ActivityLogDto;
 import at.geise.test.springboot4test.dto.ActivitySummaryDto;
-import at.geise.test.springboot4test.dto.TaskDto;
+import at.geise.test.springboot4test.dto.CursorPage;
+import at.geise.test.springboot4test.dto.TaskChange;
 import at.geise.test.springboot4test.repository.ActivityLogRepository;
+import at.geise.test.springboot4test.repository.ActivityOutboxRepository;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ActivityLogService {
 
+    static final int MAX_FEED_SIZE = 100;
+
     private final ActivityLogRepository activityLogRepository;
     private final TaskService taskService;
-
-    public ActivityLogService(ActivityLogRepository activityLogRepository, @Lazy TaskService taskService) {
+    private final ActivityLogWriter activityLogWriter;
+    private final ActivityOutboxRepository activityOutboxRepository;
+    private final RecentActivityBuffer recentActivityBuffer;
+    private final ActivityArchiveService activityArchiveService;
+
+    public ActivityLogService(ActivityLogRepository activityLogRepository, @Lazy TaskService taskService,
+                              ActivityLogWriter activityLogWriter, ActivityOutboxRepository activityOutboxRepository,
+                              RecentActivityBuffer recentActivityBuffer, ActivityArchiveService activityArchiveService) {
         this.activityLogRepository = activityLogRepository;
         this.taskService = taskService;
+        this.activityLogWriter = activityLogWriter;
+        this.activityOutboxRepository = activityOutboxRepository;
+        this.recentActivityBuffer = recentActivityBuffer;
+        this.activityArchiveService = activityArchiveService;
     }
 
+    /** Full history, newest first: live entries followed by archived ones (see {@link ActivityArchiveService}). */
+    @Transactional(readOnly = true)
     public List<ActivityLogDto> getActivityForTask(UUID taskId) {
-        Task task = taskService.get(taskId);
-        return activityLogRepository.findByTaskOrderByTimestampDesc(task)
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        List<ActivityLogDto> activity = activityLogRepository.findDtosByTaskId(taskId);
+        List<ActivityLogDto> archived = activityArchiveService.entriesForTask(taskId);
+        if (!archived.isEmpty()) {
+            List<ActivityLogDto> all = new ArrayList<>(activity.size() + archived.size());
+            all.addAll(activity);
+            all.addAll(archived);
+            return all;
+        }
+        if (activity.isEmpty()) {
+            taskService.requireExists(taskId);
+        }
+        return activity;
     }
 
+    /**
+     * Paged history, newest first. Pages within the live entries cost one archive count on top of the
+     * live query; pages reaching past them decode only the archive rows they cover.
+     */
+    @Transactional(readOnly = true)
     public Page<ActivityLogDto> getActivityForTask(UUID taskId, int page, int size) {
-        Task task = taskService.get(taskId);
         Pageable pageable = PageRequest.of(page, size);
-        return activityLogRepository.findByTaskOrderByTimestampDesc(task, pageable)
-                .map(this::toDto);
+        Page<ActivityLogDto> activity = activityLogRepository.findDtosByTaskId(taskId, pageable);
+        long archivedCount = activityArchiveService.countForTask(taskId);
+        if (archivedCount == 0) {
+            if (activity.getTotalElements() == 0) {
+                taskService.requireExists(taskId);
+            }
+            return activity;
+        }
+        long total = activity.getTotalElements() + archivedCount;
+        if (activity.getNumberOfElements() == size) {
+            return new PageImpl<>(activity.getContent(), pageable, total);
+        }
+        List<ActivityLogDto> content = new ArrayList<>(activity.getContent());
+        long skip = Math.max(0, pageable.getOffset() - activity.getTotalElements());
+        content.addAll(activityArchiveService.entriesForTask(taskId, skip, size - content.size()));
+        return new PageImpl<>(content, pageable, total);
     }
 
+    @Transactional(readOnly = true)
     public List<ActivityLogDto> getRecentActivity(int limit) {
-        // Get recent activity across all tasks
-        Pageable pageable = PageRequest.of(0, limit);
-        return activityLogRepository.findAll(pageable)
-                .map(this::toDto)
-                .getContent();
+        return getActivityFeed(null, limit).items();
+    }
+
+    /**
+     * Global activity feed, newest first. The first page comes from {@link RecentActivityBuffer} when it
+     * can hold the requested page; later pages use the cursor against the {@code (timestamp, id)} index.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ActivityLogDto> getActivityFeed(String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_FEED_SIZE));
+        List<ActivityLogDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = recentActivityBuffer.isWarm() && size < recentActivityBuffer.capacity()
+                    ? recentActivityBuffer.latest(size + 1)
+                    : activityLogRepository.findLatest(PageRequest.of(0, size + 1));
+        } else {
+            ActivityCursor position = ActivityCursor.decode(cursor);
+            rows = activityLogRepository.findLatestBefore(position.timestamp(), position.id(), PageRequest.of(0, size + 1));
+        }
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<ActivityLogDto> items = List.copyOf(rows.subList(0, size));
+        return new CursorPage<>(items, ActivityCursor.after(items.get(size - 1)).encode());
     }
 
     // Logging methods
+    // Written to the outbox in the caller's transaction; ActivityOutboxRelay turns it into an ActivityLog
     public void logTaskCreated(Task task, String author) {
         ActivityLog activityLog = ActivityLog.taskCreated(task, author);
-        activityLogRepository.save(activityLog);
+        activityOutboxRepository.save(ActivityOutbox.of(activityLog));
     }
 
     public void logStatusChanged(Task task, Task.Status oldStatus, Task.Status newStatus, String author) {
         ActivityLog activityLog = ActivityLog.statusChanged(task, oldStatus, newStatus, author);
-        activityLogRepository.save(activityLog);
+        record(activityLog);
     }
 
     public void logPriorityChanged(Task task, Task.Priority oldPriority, Task.Priority newPriority, String author) {
         ActivityLog activityLog = ActivityLog.priorityChanged(task, oldPriority, newPriority, author);
-        activityLogRepository.save(activityLog);
+        record(activityLog);
     }
 
     public void logTitleChanged(Task task, String oldTitle, String newTitle, String author) {
         ActivityLog activityLog = ActivityLog.titleChanged(task, oldTitle, newTitle, author);
-        activityLogRepository.save(activityLog);
+        record(activityLog);
     }
 
     public void logDescriptionChanged(Task task, String oldDescription, String newDescription, String author) {
         ActivityLog activityLog = ActivityLog.descriptionChanged(task, oldDescription, newDescription, author);
-        activityLogRepository.save(activityLog);
+        record(activityLog);
     }
 
     public void logDueDateChanged(Task task, String oldDueDate, String newDueDate, String author) {
         ActivityLog activityLog = ActivityLog.dueDateChanged(task, oldDueDate, newDueDate, author);
-        activityLogRepository.save(activityLog);
+        record(activityLog);
     }
 
     public void logCommentAdded(Task task, String author) {
         ActivityLog activityLog = ActivityLog.commentAdded(task, author);
-        activityLogRepository.save(activityLog);
+        record(activityLog);
     }
 
-    public void logTaskUpdated(Task task, Task.Status oldStatus, Task.Priority oldPriority, String oldTitle, String oldDescription, LocalDateTime oldDueDate, TaskDto newDto) {
-        // Log individual field changes
-        if (!oldStatus.equals(newDto.status())) {
-            logStatusChanged(task, oldStatus, newDto.status(), "System");
-        }
-        if (!oldPriority.equals(newDto.priority())) {
-            logPriorityChanged(task, oldPriority, newDto.priority(), "System");
-        }
-        if (!oldTitle.equals(newDto.title())) {
-            logTitleChanged(task, oldTitle, newDto.title(), "System");
-        }
-        if (!java.util.Objects.equals(oldDescription, newDto.description())) {
-            logDescriptionChanged(task, oldDescription, newDto.description(), "System");
-        }
-        if (!java.util.Objects.equals(oldDueDate, newDto.dueDate())) {
-            logDueDateChanged(task,
-                oldDueDate != null ? oldDueDate.toString() : null,
-                newDto.dueDate() != null ? newDto.dueDate().toString() : null,
-                "System");
+    /** One entry per changed field, in the order of {@code changes}. */
+    public void logTaskChanges(Task task, List<TaskChange> changes, String author) {
+        for (TaskChange change : changes) {
+            switch (change.field()) {
+                case STATUS -> logStatusChanged(task, (Task.Status) change.oldValue(), (Task.Status) change.newValue(), author);
+                case PRIORITY -> logPriorityChanged(task, (Task.Priority) change.oldValue(), (Task.Priority) change.newValue(), author);
+                case TITLE -> logTitleChanged(task, (String) change.oldValue(), (String) change.newValue(), author);
+                case DESCRIPTION -> logDescriptionChanged(task, (String) change.oldValue(), (String) change.newValue(), author);
+                case DUE_DATE -> logDueDateChanged(task, Objects.toString(change.oldValue(), null), Objects.toString(change.newValue(), null), author);
+            }
         }
     }
 
+    @Transactional(readOnly = true)
     public long getActivityCountForTask(UUID taskId) {
-        Task task = taskService.get(taskId);
-        return activityLogRepository.countByTask(task);
+        long live = activityLogRepository.countIfTaskExists(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Task not found: " + taskId));
+        return live + activityArchiveService.countForTask(taskId);
     }
 
+    @Transactional(readOnly = true)
     public List<ActivitySummaryDto> getActivitySummary(UUID taskId) {
-        // This could be implemented with custom queries to get aggregated activity data
-        // For now, return a simple summary
-        Task task = taskService.get(taskId);
-        List<ActivityLog> activities = activityLogRepository.findByTaskOrderByTimestampDesc(task);
-
-        return activities.stream()
-                .collect(Collectors.groupingBy(ActivityLog::getAction))
-                .entrySet()
-                .stream()
-                .map(entry -> {
-                    List<ActivityLog> logs = entry.getValue();
-                    LocalDateTime lastActivity = logs.stream()
-                            .map(ActivityLog::getTimestamp)
-                            .max(LocalDateTime::compareTo)
-                            .orElse(null);
-                    return new ActivitySummaryDto(entry.getKey(), logs.size(), lastActivity);
-                })
-                .collect(Collectors.toList());
-    }
-
-    private ActivityLogDto toDto(ActivityLog activityLog) {
-        return new ActivityLogDto(
-                activityLog.getId(),
-                activityLog.getTask().getId(),
-                activityLog.getAction(),
-                activityLog.getOldValue(),
-                activityLog.getNewValue(),
-                activityLog.getAuthor(),
-                activityLog.getTimestamp()
-        );
+        List<ActivitySummaryDto> summary = activityLogRepository.summarizeByTaskId(taskId);
+        List<ActivitySummaryDto> archived = activityArchiveService.summaryForTask(taskId);
+        if (!archived.isEmpty()) {
+            return mergeArchived(summary, archived);
+        }
+        if (summary.isEmpty()) {
+            taskService.requireExists(taskId);
+        }
+        return summary;
+    }
+
+    // Archived entries are older than live ones, so live last-occurrence timestamps win
+    private static List<ActivitySummaryDto> mergeArchived(List<ActivitySummaryDto> summary, List<ActivitySummaryDto> archived) {
+        Map<String, ActivitySummaryDto> byAction = new LinkedHashMap<>();
+        summary.forEach(s -> byAction.put(s.action(), s));
+        for (ActivitySummaryDto totals : archived) {
+            byAction.merge(totals.action(), totals,
+                    (a, b) -> new ActivitySummaryDto(a.action(), a.count() + b.count(),
+                            a.lastActivity().isAfter(b.lastActivity()) ? a.lastActivity() : b.lastActivity()));
+        }
+        return byAction.values().stream().sorted(Comparator.comparing(ActivitySummaryDto::action)).toList();
+    }
+
+    // Writes are batched off the request path; see ActivityLogWriter
+    private void record(ActivityLog activityLog) {
+        activityLogWriter.write(activityLog);
     }
 }
@@ -0,0 +1,250 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.domain.ActivityLog;
+import at.geise.test.springboot4test.domain.TimeOrderedUuid;
+import at.geise.test.springboot4test.dto.ActivityLogDto;
+import at.geise.test.springboot4test.dto.ChangeEventDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind pipeline for {@link ActivityLog} rows. Entries are queued once the surrounding
+ * transaction commits and a background worker inserts them in JDBC batches of up to
+ * {@code activity.writer.batch-size}, waiting at most {@code activity.writer.flush-interval}
+ * for a batch to fill. When the bounded queue is full the producer waits up to
+ * {@code activity.writer.offer-timeout} and then writes its entry itself (backpressure).
+ * Pending entries are flushed when the application context stops.
+ * <p>
+ * Every write runs in its own {@code REQUIRES_NEW} transaction: writes on the caller's thread happen in
+ * {@code afterCommit}, where the finished transaction is still bound and must not be joined.
+ */
+@Component
+@Slf4j
+public class ActivityLogWriter implements SmartLifecycle {
+
+    static final String INSERT_SQL = """
+            INSERT INTO activity_logs (id, task_id, action, old_value, new_value, author, timestamp)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<ActivityLog> queue;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public ActivityLogWriter(JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${activity.writer.enabled:true}") boolean enabled,
+                             @Value("${activity.writer.queue-capacity:10000}") int queueCapacity,
+                             @Value("${activity.writer.batch-size:100}") int batchSize,
+                             @Value("${activity.writer.flush-interval:200ms}") Duration flushInterval,
+                             @Value("${activity.writer.offer-timeout:50ms}") Duration offerTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+    }
+
+    /**
+     * Schedules the entry for writing. Inside a transaction it is only queued after commit,
+     * so rolled-back changes never produce activity rows.
+     */
+    public void write(ActivityLog activityLog) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(activityLog);
+                }
+            });
+        } else {
+            enqueue(activityLog);
+        }
+    }
+
+    void enqueue(ActivityLog activityLog) {
+        if (!enabled || !running) {
+            writeBatch(List.of(activityLog));
+            return;
+        }
+        try {
+            if (!queue.offer(activityLog, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.debug("Activity log queue full, writing on caller thread");
+                writeBatch(List.of(activityLog));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeBatch(List.of(activityLog));
+        }
+    }
+
+    /**
+     * Writes up to one batch of queued entries on the calling thread.
+     *
+     * @return the number of entries written
+     */
+    public int flush() {
+        List<ActivityLog> batch = new ArrayList<>(batchSize);
+        queue.drainTo(batch, batchSize);
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+        return batch.size();
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void runWorker() {
+        while (running) {
+            try {
+                ActivityLog first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<ActivityLog> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                fillBatch(batch);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Activity log writer failed to flush batch", e);
+            }
+        }
+    }
+
+    private void fillBatch(List<ActivityLog> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            ActivityLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void writeBatch(List<ActivityLog> batch) {
+        batch.forEach(activityLog -> {
+            if (activityLog.getId() == null) {
+                activityLog.setId(TimeOrderedUuid.next());
+            }
+        });
+        List<ActivityLog> written = batch;
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), ActivityLogWriter::bind));
+        } catch (DataAccessException e) {
+            // One bad row (e.g. its task was deleted meanwhile) must not drop the whole batch
+            log.warn("Batch insert of {} activity logs failed, retrying individually: {}", batch.size(), e.getMessage());
+            written = batch.stream().filter(this::insertSingle).toList();
+        }
+        written.forEach(this::publish);
+    }
+
+    private boolean insertSingle(ActivityLog activityLog) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, activityLog)));
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Dropping activity log {} for task {}: {}", activityLog.getAction(),
+                    activityLog.getTask().getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static void bind(PreparedStatement ps, ActivityLog activityLog) throws SQLException {
+        ps.setObject(1, activityLog.getId());
+        ps.setObject(2, activityLog.getTask().getId());
+        ps.setString(3, activityLog.getAction());
+        ps.setString(4, activityLog.getOldValue());
+        ps.setString(5, activityLog.getNewValue());
+        ps.setString(6, activityLog.getAuthor());
+        ps.setObject(7, activityLog.getTimestamp());
+    }
+
+    private void publish(ActivityLog activityLog) {
+        UUID taskId = activityLog.getTask().getId();
+        ActivityLogDto dto = new ActivityLogDto(activityLog.getId(), taskId, activityLog.getAction(),
+                activityLog.getOldValue(), activityLog.getNewValue(), activityLog.getAuthor(), activityLog.getTimestamp());
+        eventPublisher.publishEvent(ChangeEventDto.of(ChangeEventDto.Type.ACTIVITY, ChangeEventDto.Action.CREATED,
+                taskId, activityLog.getId(), dto));
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::runWorker, "activity-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(flushInterval.toMillis() * 2 + 5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+        int flushed = 0;
+        int written;
+        while ((written = flush()) > 0) {
+            flushed += written;
+        }
+        if (flushed > 0) {
+            log.info("Flushed {} pending activity logs on shutdown", flushed);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
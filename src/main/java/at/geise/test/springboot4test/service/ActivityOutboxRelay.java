@@ -0,0 +1,136 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.domain.ActivityOutbox;
+import at.geise.test.springboot4test.dto.ActivityLogDto;
+import at.geise.test.springboot4test.dto.ChangeEventDto;
+import at.geise.test.springboot4test.repository.ActivityOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Moves {@link ActivityOutbox} rows into {@code activity_logs} in batches. Each batch is claimed with
+ * {@code FOR UPDATE SKIP LOCKED}, inserted and removed from the outbox in one transaction, so several
+ * instances relay disjoint batches. The outbox id is reused as the activity log id, so a batch relayed
+ * twice fails on the primary key instead of duplicating history. Rows whose task has been deleted in
+ * the meantime are dropped by the {@code EXISTS} guard and not announced.
+ */
+@Component
+@Slf4j
+public class ActivityOutboxRelay {
+
+    static final String CLAIM_SQL = """
+            SELECT id, task_id, action, old_value, new_value, author, created_at FROM activity_outbox
+            ORDER BY created_at FETCH FIRST ? ROWS ONLY FOR UPDATE SKIP LOCKED
+            """;
+    static final String INSERT_SQL = """
+            INSERT INTO activity_logs (id, task_id, action, old_value, new_value, author, timestamp)
+            SELECT ?, ?, ?, ?, ?, ?, ? WHERE EXISTS (SELECT 1 FROM tasks WHERE id = ?)
+            """;
+
+    private final ActivityOutboxRepository outboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public ActivityOutboxRelay(ActivityOutboxRepository outboxRepository,
+                               JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${activity.outbox.batch-size:500}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${activity.outbox.poll-interval:500ms}")
+    public void scheduledRelay() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            log.warn("Activity outbox relay failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Relays batches until the outbox is empty.
+     *
+     * @return the number of outbox rows processed
+     */
+    public int relay() {
+        int total = 0;
+        Batch batch;
+        do {
+            batch = transactionTemplate.execute(status -> relayBatch());
+            batch.inserted().forEach(this::publish);
+            total += batch.claimed();
+        } while (batch.claimed() == batchSize);
+        return total;
+    }
+
+    private record Batch(int claimed, List<ActivityLogDto> inserted) {
+    }
+
+    private Batch relayBatch() {
+        List<ActivityLogDto> rows = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> new ActivityLogDto(
+                rs.getObject("id", UUID.class), rs.getObject("task_id", UUID.class), rs.getString("action"),
+                rs.getString("old_value"), rs.getString("new_value"), rs.getString("author"),
+                rs.getObject("created_at", LocalDateTime.class)), batchSize);
+        if (rows.isEmpty()) {
+            return new Batch(0, rows);
+        }
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, row.id());
+            ps.setObject(2, row.taskId());
+            ps.setString(3, row.action());
+            ps.setString(4, row.oldValue());
+            ps.setString(5, row.newValue());
+            ps.setString(6, row.author());
+            ps.setObject(7, row.timestamp());
+            ps.setObject(8, row.taskId());
+        })[0];
+        List<ActivityLogDto> inserted = inserted(rows, counts);
+        outboxRepository.deleteAllByIdInBatch(rows.stream().map(ActivityLogDto::id).toList());
+        log.debug("Relayed {} of {} activity outbox rows", inserted.size(), rows.size());
+        return new Batch(rows.size(), inserted);
+    }
+
+    // Rows the EXISTS guard skipped report 0; drivers that only report SUCCESS_NO_INFO are asked directly
+    private List<ActivityLogDto> inserted(List<ActivityLogDto> rows, int[] counts) {
+        if (Arrays.stream(counts).anyMatch(count -> count == Statement.SUCCESS_NO_INFO)) {
+            Set<UUID> stored = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT id FROM activity_logs WHERE id IN (" + String.join(", ", Collections.nCopies(rows.size(), "?")) + ")",
+                    UUID.class, rows.stream().map(ActivityLogDto::id).toArray()));
+            return rows.stream().filter(row -> stored.contains(row.id())).toList();
+        }
+        List<ActivityLogDto> inserted = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (counts[i] > 0) {
+                inserted.add(rows.get(i));
+            }
+        }
+        return inserted;
+    }
+
+    private void publish(ActivityLogDto dto) {
+        eventPublisher.publishEvent(ChangeEventDto.of(ChangeEventDto.Type.ACTIVITY, ChangeEventDto.Action.CREATED,
+                dto.taskId(), dto.id(), dto));
+    }
+}
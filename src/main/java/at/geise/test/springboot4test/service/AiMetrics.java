@@ -0,0 +1,93 @@
+package at.geise.test.springboot4test.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Meters for AI provider calls, all tagged with {@code operation} (prioritize, prioritize-batch,
+ * decompose, deadline) and {@code model}:
+ * <ul>
+ *   <li>{@code ai.requests} timer per provider round trip incl. parsing, tagged with {@code outcome}
+ *       (success, parse-failure, timeout, error, cancelled)</li>
+ *   <li>{@code ai.fallbacks} counter for every heuristic fallback result that was served</li>
+ *   <li>{@code ai.tokens} counter from the provider's {@code usage} block, tagged with {@code type}
+ *       (prompt, completion)</li>
+ * </ul>
+ * Cache hits never reach the provider and are not counted here; see {@link AiResponseCache}.
+ */
+@Component
+public class AiMetrics {
+
+    public enum Outcome {
+        SUCCESS("success"), PARSE_FAILURE("parse-failure"), TIMEOUT("timeout"), ERROR("error"), CANCELLED("cancelled");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+
+        public static Outcome of(Throwable error) {
+            if (error instanceof AiResponseParseException) {
+                return PARSE_FAILURE;
+            }
+            return error instanceof TimeoutException ? TIMEOUT : ERROR;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    public AiMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void record(Timer.Sample sample, String operation, String model, Outcome outcome) {
+        sample.stop(Timer.builder("ai.requests")
+                .description("AI provider round trips")
+                .tag("operation", operation)
+                .tag("model", model)
+                .tag("outcome", outcome.tag)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    public void fallback(String operation, String model) {
+        Counter.builder("ai.fallbacks")
+                .description("Heuristic results served instead of a provider answer")
+                .tag("operation", operation)
+                .tag("model", model)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void tokens(String operation, String model, long promptTokens, long completionTokens) {
+        tokenCounter(operation, model, "prompt").increment(promptTokens);
+        tokenCounter(operation, model, "completion").increment(completionTokens);
+    }
+
+    private Counter tokenCounter(String operation, String model, String type) {
+        return Counter.builder("ai.tokens")
+                .description("Tokens billed by the AI provider")
+                .baseUnit("tokens")
+                .tag("operation", operation)
+                .tag("model", model)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    /** The provider answered, but not with the JSON shape the prompt asked for. */
+    public static class AiResponseParseException extends RuntimeException {
+
+        public AiResponseParseException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package at.geise.test.springboot4test.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache for parsed AI suggestions, keyed by the normalized prompt inputs and the
+ * model settings. Only successful provider responses are stored: a failed load is evicted
+ * by Caffeine, so fallbacks are never cached. Concurrent identical requests share one call, which
+ * keeps running when one of its callers cancels (disconnect, timeout).
+ * Hit/miss/eviction counts are published as {@code cache.*} meters with {@code cache=ai.responses}.
+ */
+@Component
+public class AiResponseCache {
+
+    public static final String CACHE_NAME = "ai.responses";
+
+    private final AsyncCache<Key, Object> cache;
+    private final boolean enabled;
+
+    public AiResponseCache(MeterRegistry meterRegistry,
+                           @Value("${ai.cache.enabled:true}") boolean enabled,
+                           @Value("${ai.cache.ttl:10m}") Duration ttl,
+                           @Value("${ai.cache.max-size:1000}") long maxSize) {
+        this.enabled = enabled;
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry,
+                Caffeine.newBuilder()
+                        .expireAfterWrite(ttl)
+                        .maximumSize(maxSize)
+                        .recordStats()
+                        .buildAsync(),
+                CACHE_NAME);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> get(Key key, Supplier<Mono<T>> loader) {
+        if (!enabled) {
+            return Mono.defer(loader);
+        }
+        // suppressCancel: the future is shared by every caller coalesced on this key
+        return Mono.fromFuture(() -> (CompletableFuture<T>) cache.get(key,
+                (k, executor) -> loader.get().map(Object.class::cast).toFuture()), true);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    /**
+     * Cache key built from the normalized task inputs. Whitespace and case differences in
+     * title/description and sub-minute differences in the due date map to the same entry.
+     */
+    public record Key(String operation, String model, double temperature, int maxTokens,
+                      String title, String description, LocalDateTime dueDate) {
+
+        public static Key of(String operation, String model, double temperature, int maxTokens,
+                             String title, String description, LocalDateTime dueDate) {
+            return new Key(operation, model, temperature, maxTokens,
+                    normalize(title), normalize(description),
+                    dueDate != null ? dueDate.truncatedTo(ChronoUnit.MINUTES) : null);
+        }
+
+        static String normalize(String value) {
+            if (value == null) {
+                return "";
+            }
+            return value.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        }
+    }
+}
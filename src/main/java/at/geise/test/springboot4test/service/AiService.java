@@ -2,18 +2,30 @@ package at.geise.test.springboot4test.service;
 
 import at.geise.test.springboot4test.domain.Task;
 import at.geise.test.springboot4test.dto.AiTaskSuggestionRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +33,8 @@ import java.util.Map;
 public class AiService {
 
     private final WebClient aiWebClient;
+    private final AiResponseCache responseCache;
+    private final AiMetrics metrics;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Value("${ai.api.model}")
@@ -32,6 +46,31 @@ public class AiService {
     @Value("${ai.api.max-tokens}")
     private int maxTokens;
 
+    @Value("${ai.api.timeout:30s}")
+    private Duration timeout;
+
+    @Value("${ai.batch.max-items-per-request:20}")
+    private int batchMaxItemsPerRequest;
+
+    @Value("${ai.batch.concurrency:2}")
+    private int batchConcurrency;
+
+    @Value("${ai.batch.max-input-tokens:3000}")
+    private int batchMaxInputTokens;
+
+    private static final String OP_PRIORITIZE = "prioritize";
+    private static final String OP_PRIORITIZE_BATCH = "prioritize-batch";
+    private static final String OP_DECOMPOSE = "decompose";
+    private static final String OP_DEADLINE = "deadline";
+
+    private static final String PRIORITIZE_CRITERIA = """
+            Consider these factors:
+            1. Urgency (how soon is the due date?)
+            2. Impact (does it seem critical or foundational?)
+            3. Complexity (is it a quick task or a major project?)
+            4. Dependencies (does it appear to block other work?)
+            """;
+
     private static final String PRIORITIZE_PROMPT = """
             You are an expert task manager helping prioritize work.
             
@@ -43,11 +82,7 @@ public class AiService {
             - Due Date: %s
             - Current Date: %s
             
-            Consider these factors:
-            1. Urgency (how soon is the due date?)
-            2. Impact (does it seem critical or foundational?)
-            3. Complexity (is it a quick task or a major project?)
-            4. Dependencies (does it appear to block other work?)
+            """ + PRIORITIZE_CRITERIA + """
             
             Respond ONLY with a JSON object in this exact format:
             {
@@ -56,61 +91,223 @@ public class AiService {
             }
             """;
 
+    private static final String BATCH_PRIORITIZE_PROMPT = """
+            You are an expert task manager helping prioritize work.
+            
+            Analyze each of the following tasks and suggest a priority level (LOW, MEDIUM, or HIGH) with a brief rationale.
+            
+            Current Date: %s
+            
+            Tasks:
+            %s
+            """ + PRIORITIZE_CRITERIA + """
+            
+            Respond ONLY with a JSON object in this exact format, with exactly one entry per task:
+            {
+              "results": [
+                { "index": 1, "priority": "HIGH|MEDIUM|LOW", "rationale": "Brief explanation in 1-2 sentences" }
+              ]
+            }
+            """;
+
+    private static final String BATCH_SYSTEM_PROMPT = "You are a helpful task management assistant.";
+
+    private static final String BATCH_TASK_ITEM = "[%d] Title: %s | Description: %s | Due Date: %s";
+
+    // Rough chars-per-token ratio for English prompts and the tokens reserved for one result entry
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int BATCH_RESULT_TOKENS = 60;
+
+    private static final String DECOMPOSE_PROMPT = """
+            You are an expert project manager helping break down tasks into manageable subtasks.
+            
+            Analyze this task and suggest 3-5 actionable subtasks to complete it.
+            
+            Task Details:
+            - Title: %s
+            - Description: %s
+            - Due Date: %s
+            
+            Consider:
+            1. Logical sequence of steps
+            2. Dependencies between subtasks
+            3. Clarity and actionability
+            4. Reasonable scope for each subtask
+            
+            Respond ONLY with a JSON object in this exact format:
+            {
+              "subtasks": [
+                "First actionable subtask",
+                "Second actionable subtask",
+                "Third actionable subtask"
+              ]
+            }
+            """;
+
+    private static final String DEADLINE_PROMPT = """
+            You are an expert project manager helping estimate realistic deadlines.
+            
+            Analyze this task and suggest a realistic deadline based on its complexity and scope.
+            
+            Task Details:
+            - Title: %s
+            - Description: %s
+            - Current Date: %s
+            
+            Consider:
+            1. Task complexity and scope
+            2. Typical time needed for similar tasks
+            3. Buffer for unexpected issues
+            4. Realistic working pace
+            
+            Respond ONLY with a JSON object in this exact format:
+            {
+              "days": 7,
+              "rationale": "Brief explanation of why this timeline is realistic"
+            }
+            
+            Where 'days' is a number between 1 and 90 representing days from now.
+            """;
+
     public PrioritySuggestion prioritize(AiTaskSuggestionRequest request) {
-        try {
-            String prompt = String.format(
+        return prioritizeAsync(request).block();
+    }
+
+    public Mono<PrioritySuggestion> prioritizeAsync(AiTaskSuggestionRequest request) {
+        return responseCache.get(cacheKey(OP_PRIORITIZE, request), () -> requestPrioritization(request))
+            .onErrorResume(e -> {
+                log.warn("AI prioritization failed, falling back to heuristic: {}", e.getMessage());
+                return Mono.fromSupplier(() -> fallbackPrioritize(OP_PRIORITIZE, request));
+            });
+    }
+
+    private Mono<PrioritySuggestion> requestPrioritization(AiTaskSuggestionRequest request) {
+        return Mono.fromCallable(() -> String.format(
                 PRIORITIZE_PROMPT,
                 request.title() != null ? request.title() : "No title",
                 request.description() != null ? request.description() : "No description",
                 request.dueDate() != null ? request.dueDate().toString() : "Not set",
                 LocalDateTime.now().toString()
-            );
-
-            Map<String, Object> requestBody = Map.of(
-                "model", model,
-                "messages", List.of(
-                    Map.of("role", "system", "content", "You are a helpful task management assistant."),
-                    Map.of("role", "user", "content", prompt)
-                ),
-                "temperature", temperature,
-                "max_tokens", maxTokens
-            );
+            ))
+            .flatMap(prompt -> observe(OP_PRIORITIZE,
+                complete("You are a helpful task management assistant.", prompt)
+                    .doOnNext(response -> log.info("AI API response: {}", response)),
+                this::parseApiResponse));
+    }
 
-            String response = aiWebClient.post()
-                .uri("/chat/completions")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
+    private AiResponseCache.Key cacheKey(String operation, AiTaskSuggestionRequest request) {
+        return AiResponseCache.Key.of(operation, model, temperature, maxTokens,
+            request.title(), request.description(), request.dueDate());
+    }
 
-            log.info("AI API response: {}", response);
+    /**
+     * Times one provider round trip including parsing and records the reported token usage.
+     * Parsers throw {@link AiMetrics.AiResponseParseException} for answers they cannot use, so
+     * the caller's fallback applies and the failed load is not cached.
+     */
+    private <T> Mono<T> observe(String operation, Mono<String> call, Function<String, T> parser) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = metrics.start();
+            return call
+                .doOnNext(response -> recordUsage(operation, response))
+                .map(parser)
+                .doOnSuccess(result -> metrics.record(sample, operation, model, AiMetrics.Outcome.SUCCESS))
+                .doOnError(e -> metrics.record(sample, operation, model, AiMetrics.Outcome.of(e)));
+        });
+    }
 
-            return parseApiResponse(response);
+    private void recordUsage(String operation, String response) {
+        try {
+            recordUsage(operation, objectMapper.readTree(response).path("usage"));
+        } catch (JsonProcessingException e) {
+            // Reported as a parse failure by the response parser
+        }
+    }
 
-        } catch (Exception e) {
-            log.warn("AI prioritization failed, falling back to heuristic: {}", e.getMessage());
-            return fallbackPrioritize(request);
+    private void recordUsage(String operation, JsonNode usage) {
+        if (usage.isObject()) {
+            metrics.tokens(operation, model, usage.path("prompt_tokens").asLong(), usage.path("completion_tokens").asLong());
         }
     }
 
-    private PrioritySuggestion parseApiResponse(String response) {
+    /**
+     * Sends a single chat completion request to the provider without blocking the caller.
+     * The configured timeout bounds the whole round trip; concurrency towards the provider
+     * is limited by the connection pool of the {@code aiWebClient} (see {@code AiConfig}).
+     */
+    private Mono<String> complete(String systemPrompt, String userPrompt) {
+        Map<String, Object> requestBody = Map.of(
+            "model", model,
+            "messages", List.of(
+                Map.of("role", "system", "content", systemPrompt),
+                Map.of("role", "user", "content", userPrompt)
+            ),
+            "temperature", temperature,
+            "max_tokens", maxTokens
+        );
+
+        return aiWebClient.post()
+            .uri("/chat/completions")
+            .bodyValue(requestBody)
+            .retrieve()
+            .bodyToMono(String.class)
+            .timeout(timeout);
+    }
+
+    /**
+     * Streaming variant of {@link #complete}: requests {@code stream: true} and emits the content
+     * delta of every server-sent chunk until the provider sends {@code [DONE]}. The timeout applies
+     * to the gap between chunks, so a stalled stream fails instead of holding the connection.
+     * Token usage arrives in a final chunk without choices and is recorded for {@code operation}.
+     */
+    private Flux<String> completeStream(String operation, String systemPrompt, String userPrompt) {
+        Map<String, Object> requestBody = Map.of(
+            "model", model,
+            "messages", List.of(
+                Map.of("role", "system", "content", systemPrompt),
+                Map.of("role", "user", "content", userPrompt)
+            ),
+            "temperature", temperature,
+            "max_tokens", maxTokens,
+            "stream", true,
+            "stream_options", Map.of("include_usage", true)
+        );
+
+        return aiWebClient.post()
+            .uri("/chat/completions")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .bodyValue(requestBody)
+            .retrieve()
+            .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+            .timeout(timeout)
+            .mapNotNull(ServerSentEvent::data)
+            .takeWhile(data -> !"[DONE]".equals(data.trim()))
+            .handle((data, sink) -> {
+                try {
+                    JsonNode chunk = objectMapper.readTree(data);
+                    recordUsage(operation, chunk.path("usage"));
+                    String delta = chunk
+                        .path("choices")
+                        .path(0)
+                        .path("delta")
+                        .path("content")
+                        .asText("");
+                    if (!delta.isEmpty()) {
+                        sink.next(delta);
+                    }
+                } catch (JsonProcessingException e) {
+                    log.debug("Skipping unparseable stream chunk: {}", data);
+                }
+            });
+    }
+
+    PrioritySuggestion parseApiResponse(String response) {
         try {
-            JsonNode root = objectMapper.readTree(response);
-            String content = root.path("choices")
-                .get(0)
-                .path("message")
-                .path("content")
-                .asText();
+            String content = extractContent(response);
 
             log.debug("Extracted AI content: {}", content);
 
-            // Clean markdown code blocks if present
-            String cleaned = content.trim()
-                .replaceAll("```json\\s*", "")
-                .replaceAll("```\\s*", "")
-                .trim();
-
-            JsonNode result = objectMapper.readTree(cleaned);
+            JsonNode result = objectMapper.readTree(stripCodeFences(content));
             String priorityStr = result.path("priority").asText();
             String rationale = result.path("rationale").asText();
 
@@ -118,13 +315,13 @@ public class AiService {
             return new PrioritySuggestion(priority, rationale);
 
         } catch (Exception e) {
-            log.warn("Failed to parse AI response, using MEDIUM default: {}", e.getMessage());
-            return new PrioritySuggestion(Task.Priority.MEDIUM, "AI analysis completed");
+            throw new AiMetrics.AiResponseParseException("Unparseable prioritization response: " + e.getMessage(), e);
         }
     }
 
 
-    private PrioritySuggestion fallbackPrioritize(AiTaskSuggestionRequest request) {
+    private PrioritySuggestion fallbackPrioritize(String operation, AiTaskSuggestionRequest request) {
+        metrics.fallback(operation, model);
         Task.Priority priority = Task.Priority.MEDIUM;
         String rationale = "Defaulted to MEDIUM (AI unavailable)";
         if (request.dueDate() != null && request.dueDate().isBefore(LocalDateTime.now().plus(2, ChronoUnit.DAYS))) {
@@ -137,94 +334,205 @@ public class AiService {
         return new PrioritySuggestion(priority, rationale);
     }
 
-    public DecompositionSuggestion decompose(AiTaskSuggestionRequest request) {
+    /**
+     * Prioritizes many tasks with as few provider calls as possible. Tasks are packed into
+     * chunks whose estimated prompt (template once, plus one line per task) stays within
+     * {@code ai.batch.max-input-tokens} and whose expected answer (one reserved result entry per
+     * task) fits the completion limit {@code ai.api.max-tokens}; results keep the input order. Entries that are missing
+     * or cannot be parsed fall back to {@link #fallbackPrioritize} individually; a response without any usable entry
+     * is recorded as a parse failure.
+     */
+    public Mono<List<PrioritySuggestion>> prioritizeBatchAsync(List<AiTaskSuggestionRequest> requests) {
+        return Flux.fromIterable(chunkByTokenBudget(requests))
+            .flatMapSequential(this::prioritizeChunk, batchConcurrency)
+            .flatMapIterable(suggestions -> suggestions)
+            .collectList();
+    }
+
+    private Mono<List<PrioritySuggestion>> prioritizeChunk(List<AiTaskSuggestionRequest> chunk) {
+        return Mono.fromCallable(() -> String.format(
+                BATCH_PRIORITIZE_PROMPT,
+                LocalDateTime.now().toString(),
+                formatBatchItems(chunk)
+            ))
+            .flatMap(prompt -> observe(OP_PRIORITIZE_BATCH,
+                complete(BATCH_SYSTEM_PROMPT, prompt)
+                    .doOnNext(response -> log.info("AI batch prioritization response: {}", response)),
+                response -> parseBatchPrioritizeResponse(response, chunk)))
+            .onErrorResume(e -> {
+                log.warn("AI batch prioritization failed for {} tasks, falling back to heuristic: {}", chunk.size(), e.getMessage());
+                return Mono.fromSupplier(() -> chunk.stream().map(request -> fallbackPrioritize(OP_PRIORITIZE_BATCH, request)).toList());
+            });
+    }
+
+    List<List<AiTaskSuggestionRequest>> chunkByTokenBudget(List<AiTaskSuggestionRequest> requests) {
+        List<List<AiTaskSuggestionRequest>> chunks = new ArrayList<>();
+        List<AiTaskSuggestionRequest> current = new ArrayList<>();
+        int templateTokens = estimateTokens(BATCH_SYSTEM_PROMPT)
+                + estimateTokens(String.format(BATCH_PRIORITIZE_PROMPT, LocalDateTime.now(), ""));
+        int promptTokens = templateTokens;
+        for (AiTaskSuggestionRequest request : requests) {
+            int itemTokens = estimateTokens(formatBatchItem(current.size() + 1, request) + '\n');
+            boolean full = current.size() >= batchMaxItemsPerRequest
+                    || promptTokens + itemTokens > batchMaxInputTokens
+                    || (current.size() + 1) * BATCH_RESULT_TOKENS > maxTokens;
+            if (!current.isEmpty() && full) {
+                chunks.add(current);
+                current = new ArrayList<>();
+                promptTokens = templateTokens;
+            }
+            current.add(request);
+            promptTokens += itemTokens;
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    private static int estimateTokens(String text) {
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    private static String formatBatchItems(List<AiTaskSuggestionRequest> chunk) {
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < chunk.size(); i++) {
+            items.append(formatBatchItem(i + 1, chunk.get(i))).append('\n');
+        }
+        return items.toString();
+    }
+
+    private static String formatBatchItem(int index, AiTaskSuggestionRequest request) {
+        return String.format(
+            BATCH_TASK_ITEM,
+            index,
+            request.title() != null ? request.title() : "No title",
+            request.description() != null ? request.description().replaceAll("\\s+", " ") : "No description",
+            request.dueDate() != null ? request.dueDate().toString() : "Not set"
+        );
+    }
+
+    private List<PrioritySuggestion> parseBatchPrioritizeResponse(String response, List<AiTaskSuggestionRequest> chunk) {
+        Map<Integer, PrioritySuggestion> byIndex = new HashMap<>();
         try {
-            String prompt = String.format("""
-                You are an expert project manager helping break down tasks into manageable subtasks.
-                
-                Analyze this task and suggest 3-5 actionable subtasks to complete it.
-                
-                Task Details:
-                - Title: %s
-                - Description: %s
-                - Due Date: %s
-                
-                Consider:
-                1. Logical sequence of steps
-                2. Dependencies between subtasks
-                3. Clarity and actionability
-                4. Reasonable scope for each subtask
-                
-                Respond ONLY with a JSON object in this exact format:
-                {
-                  "subtasks": [
-                    "First actionable subtask",
-                    "Second actionable subtask",
-                    "Third actionable subtask"
-                  ]
-                }
-                """,
-                request.title() != null ? request.title() : "No title",
-                request.description() != null ? request.description() : "No description",
-                request.dueDate() != null ? request.dueDate().toString() : "Not set"
-            );
-
-            Map<String, Object> requestBody = Map.of(
-                "model", model,
-                "messages", List.of(
-                    Map.of("role", "system", "content", "You are a helpful project management assistant."),
-                    Map.of("role", "user", "content", prompt)
-                ),
-                "temperature", temperature,
-                "max_tokens", maxTokens
-            );
-
-            String response = aiWebClient.post()
-                .uri("/chat/completions")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
-
-            log.info("AI decomposition response: {}", response);
-
-            return parseDecompositionResponse(response);
+            String content = extractContent(response);
+            log.debug("Extracted batch prioritization content: {}", content);
 
+            JsonNode results = objectMapper.readTree(stripCodeFences(content)).path("results");
+            if (!results.isArray()) {
+                throw new IllegalStateException("no results array");
+            }
+            for (JsonNode entry : results) {
+                try {
+                    int index = entry.path("index").asInt(-1);
+                    Task.Priority priority = Task.Priority.valueOf(entry.path("priority").asText().toUpperCase());
+                    byIndex.putIfAbsent(index, new PrioritySuggestion(priority, entry.path("rationale").asText()));
+                } catch (IllegalArgumentException e) {
+                    log.warn("Skipping unparseable batch entry: {}", entry);
+                }
+            }
         } catch (Exception e) {
-            log.warn("AI decomposition failed, falling back to generic subtasks: {}", e.getMessage());
-            return fallbackDecompose(request);
+            throw new AiMetrics.AiResponseParseException("Unparseable batch prioritization response: " + e.getMessage(), e);
+        }
+        if (byIndex.isEmpty()) {
+            // Nothing usable: the whole chunk falls back, so this round trip counts as a parse failure
+            throw new AiMetrics.AiResponseParseException("Batch prioritization response has no usable entries", null);
+        }
+
+        List<PrioritySuggestion> suggestions = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            PrioritySuggestion suggestion = byIndex.get(i + 1);
+            suggestions.add(suggestion != null ? suggestion : fallbackPrioritize(OP_PRIORITIZE_BATCH, chunk.get(i)));
         }
+        return suggestions;
     }
 
-    private DecompositionSuggestion parseDecompositionResponse(String response) {
+    public DecompositionSuggestion decompose(AiTaskSuggestionRequest request) {
+        return decomposeAsync(request).block();
+    }
+
+    public Mono<DecompositionSuggestion> decomposeAsync(AiTaskSuggestionRequest request) {
+        return responseCache.get(cacheKey(OP_DECOMPOSE, request), () -> requestDecomposition(request))
+            .onErrorResume(e -> {
+                log.warn("AI decomposition failed, falling back to generic subtasks: {}", e.getMessage());
+                return Mono.fromSupplier(() -> fallbackDecompose(request));
+            });
+    }
+
+    private Mono<DecompositionSuggestion> requestDecomposition(AiTaskSuggestionRequest request) {
+        return Mono.fromCallable(() -> decomposePrompt(request))
+            .flatMap(prompt -> observe(OP_DECOMPOSE,
+                complete("You are a helpful project management assistant.", prompt)
+                    .doOnNext(response -> log.info("AI decomposition response: {}", response)),
+                this::parseDecompositionResponse));
+    }
+
+    /**
+     * Streams subtasks as the provider generates them. Each subtask is emitted as soon as its
+     * JSON string is complete in the streamed deltas. A stream that ends before the subtask list
+     * is closed counts as a parse failure. If the stream fails or yields nothing before the first
+     * subtask, the generic {@link #fallbackDecompose} subtasks are emitted instead; a failure after
+     * the first subtask simply ends the stream. The whole stream is recorded as one
+     * {@code ai.requests} sample of the {@code decompose} operation, as {@code cancelled} if the
+     * client disconnects before it ends.
+     */
+    public Flux<String> decomposeStream(AiTaskSuggestionRequest request) {
+        return Flux.defer(() -> {
+            SubtaskStreamParser parser = new SubtaskStreamParser();
+            AtomicInteger emitted = new AtomicInteger();
+            Timer.Sample sample = metrics.start();
+            return Mono.fromCallable(() -> decomposePrompt(request))
+                .flatMapMany(prompt -> completeStream(OP_DECOMPOSE, "You are a helpful project management assistant.", prompt))
+                .concatMapIterable(parser::feed)
+                .concatWith(Mono.defer(() -> parser.isComplete() ? Mono.<String>empty()
+                    : Mono.error(new AiMetrics.AiResponseParseException("Decomposition stream ended before the subtask list was closed", null))))
+                .doOnComplete(() -> metrics.record(sample, OP_DECOMPOSE, model, AiMetrics.Outcome.SUCCESS))
+                .doOnError(e -> metrics.record(sample, OP_DECOMPOSE, model, AiMetrics.Outcome.of(e)))
+                .doOnCancel(() -> metrics.record(sample, OP_DECOMPOSE, model, AiMetrics.Outcome.CANCELLED))
+                .doOnNext(subtask -> emitted.incrementAndGet())
+                .switchIfEmpty(Flux.defer(() -> {
+                    log.warn("AI decomposition stream returned no subtasks, falling back to generic subtasks");
+                    return Flux.fromIterable(fallbackDecompose(request).subtasks());
+                }))
+                .onErrorResume(e -> {
+                    if (emitted.get() > 0) {
+                        log.warn("AI decomposition stream aborted after {} subtasks: {}", emitted.get(), e.getMessage());
+                        return Flux.empty();
+                    }
+                    log.warn("AI decomposition stream failed, falling back to generic subtasks: {}", e.getMessage());
+                    return Flux.fromIterable(fallbackDecompose(request).subtasks());
+                });
+        });
+    }
+
+    private static String decomposePrompt(AiTaskSuggestionRequest request) {
+        return String.format(
+            DECOMPOSE_PROMPT,
+            request.title() != null ? request.title() : "No title",
+            request.description() != null ? request.description() : "No description",
+            request.dueDate() != null ? request.dueDate().toString() : "Not set"
+        );
+    }
+
+    DecompositionSuggestion parseDecompositionResponse(String response) {
         try {
-            JsonNode root = objectMapper.readTree(response);
-            String content = root.path("choices")
-                .get(0)
-                .path("message")
-                .path("content")
-                .asText();
+            String content = extractContent(response);
 
             log.debug("Extracted decomposition content: {}", content);
 
-            String cleaned = content.trim()
-                .replaceAll("```json\\s*", "")
-                .replaceAll("```\\s*", "")
-                .trim();
-
-            JsonNode result = objectMapper.readTree(cleaned);
-            List<String> subtasks = new java.util.ArrayList<>();
+            JsonNode result = objectMapper.readTree(stripCodeFences(content));
+            List<String> subtasks = new ArrayList<>();
             result.path("subtasks").forEach(node -> subtasks.add(node.asText()));
 
             return new DecompositionSuggestion(subtasks);
 
         } catch (Exception e) {
-            log.warn("Failed to parse decomposition response: {}", e.getMessage());
-            return new DecompositionSuggestion(List.of("Break down this task", "Define acceptance criteria", "Complete implementation"));
+            throw new AiMetrics.AiResponseParseException("Unparseable decomposition response: " + e.getMessage(), e);
         }
     }
 
     private DecompositionSuggestion fallbackDecompose(AiTaskSuggestionRequest request) {
+        metrics.fallback(OP_DECOMPOSE, model);
         List<String> subtasks = List.of(
             "Clarify requirements for: " + (request.title() != null ? request.title() : "this task"),
             "Identify owners and resources",
@@ -236,94 +544,51 @@ public class AiService {
     }
 
     public DeadlineSuggestion predictDeadline(AiTaskSuggestionRequest request) {
-        try {
-            String prompt = String.format("""
-                You are an expert project manager helping estimate realistic deadlines.
-                
-                Analyze this task and suggest a realistic deadline based on its complexity and scope.
-                
-                Task Details:
-                - Title: %s
-                - Description: %s
-                - Current Date: %s
-                
-                Consider:
-                1. Task complexity and scope
-                2. Typical time needed for similar tasks
-                3. Buffer for unexpected issues
-                4. Realistic working pace
-                
-                Respond ONLY with a JSON object in this exact format:
-                {
-                  "days": 7,
-                  "rationale": "Brief explanation of why this timeline is realistic"
-                }
-                
-                Where 'days' is a number between 1 and 90 representing days from now.
-                """,
+        return predictDeadlineAsync(request).block();
+    }
+
+    public Mono<DeadlineSuggestion> predictDeadlineAsync(AiTaskSuggestionRequest request) {
+        // The cache holds the relative estimate; the date is resolved against the time of each call
+        return responseCache.get(cacheKey(OP_DEADLINE, request), () -> requestDeadline(request))
+            .onErrorResume(e -> {
+                log.warn("AI deadline prediction failed, falling back to heuristic: {}", e.getMessage());
+                return Mono.fromSupplier(() -> fallbackDeadline(request));
+            })
+            .map(DeadlineEstimate::resolve);
+    }
+
+    private Mono<DeadlineEstimate> requestDeadline(AiTaskSuggestionRequest request) {
+        return Mono.fromCallable(() -> String.format(
+                DEADLINE_PROMPT,
                 request.title() != null ? request.title() : "No title",
                 request.description() != null ? request.description() : "No description",
                 LocalDateTime.now().toString()
-            );
-
-            Map<String, Object> requestBody = Map.of(
-                "model", model,
-                "messages", List.of(
-                    Map.of("role", "system", "content", "You are a helpful project management assistant."),
-                    Map.of("role", "user", "content", prompt)
-                ),
-                "temperature", temperature,
-                "max_tokens", maxTokens
-            );
-
-            String response = aiWebClient.post()
-                .uri("/chat/completions")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(String.class)
-                .block();
-
-            log.info("AI deadline prediction response: {}", response);
-
-            return parseDeadlineResponse(response);
-
-        } catch (Exception e) {
-            log.warn("AI deadline prediction failed, falling back to heuristic: {}", e.getMessage());
-            return fallbackDeadline(request);
-        }
+            ))
+            .flatMap(prompt -> observe(OP_DEADLINE,
+                complete("You are a helpful project management assistant.", prompt)
+                    .doOnNext(response -> log.info("AI deadline prediction response: {}", response)),
+                this::parseDeadlineResponse));
     }
 
-    private DeadlineSuggestion parseDeadlineResponse(String response) {
+    private DeadlineEstimate parseDeadlineResponse(String response) {
         try {
-            JsonNode root = objectMapper.readTree(response);
-            String content = root.path("choices")
-                .get(0)
-                .path("message")
-                .path("content")
-                .asText();
+            String content = extractContent(response);
 
             log.debug("Extracted deadline content: {}", content);
 
-            String cleaned = content.trim()
-                .replaceAll("```json\\s*", "")
-                .replaceAll("```\\s*", "")
-                .trim();
-
-            JsonNode result = objectMapper.readTree(cleaned);
+            JsonNode result = objectMapper.readTree(stripCodeFences(content));
             int days = result.path("days").asInt(7);
             String rationale = result.path("rationale").asText("AI suggested deadline");
 
-            LocalDateTime suggestedDeadline = LocalDateTime.now().plusDays(days);
-            return new DeadlineSuggestion(suggestedDeadline, rationale);
+            return new DeadlineEstimate(days, rationale);
 
         } catch (Exception e) {
-            log.warn("Failed to parse deadline response: {}", e.getMessage());
-            LocalDateTime suggested = LocalDateTime.now().plusDays(7);
-            return new DeadlineSuggestion(suggested, "Default 7-day timeline");
+            throw new AiMetrics.AiResponseParseException("Unparseable deadline response: " + e.getMessage(), e);
         }
     }
 
-    private DeadlineSuggestion fallbackDeadline(AiTaskSuggestionRequest request) {
+    private DeadlineEstimate fallbackDeadline(AiTaskSuggestionRequest request) {
+        metrics.fallback(OP_DEADLINE, model);
         int days = 7;
         String rationale = "Standard 1-week timeline (AI unavailable)";
 
@@ -335,11 +600,34 @@ public class AiService {
             rationale = "Urgent task, 3-day timeline";
         }
 
-        LocalDateTime suggested = LocalDateTime.now().plusDays(days);
-        return new DeadlineSuggestion(suggested, rationale);
+        return new DeadlineEstimate(days, rationale);
+    }
+
+    private String extractContent(String response) throws JsonProcessingException {
+        return objectMapper.readTree(response)
+            .path("choices")
+            .get(0)
+            .path("message")
+            .path("content")
+            .asText();
+    }
+
+    // Clean markdown code blocks if present
+    private static String stripCodeFences(String content) {
+        return content.trim()
+            .replaceAll("```json\\s*", "")
+            .replaceAll("```\\s*", "")
+            .trim();
     }
 
     public record PrioritySuggestion(Task.Priority priority, String rationale) {}
     public record DecompositionSuggestion(List<String> subtasks) {}
     public record DeadlineSuggestion(LocalDateTime suggestedDueDate, String rationale) {}
+
+    private record DeadlineEstimate(int days, String rationale) {
+
+        DeadlineSuggestion resolve() {
+            return new DeadlineSuggestion(LocalDateTime.now().plusDays(days), rationale);
+        }
+    }
 }
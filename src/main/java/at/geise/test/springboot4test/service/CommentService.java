@@ -2,18 +2,19 @@ package at.geise.test.springboot4test.service;
 
 import at.geise.test.springboot4test.domain.Comment;
 import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.ChangeEventDto;
 import at.geise.test.springboot4test.dto.CommentDto;
 import at.geise.test.springboot4test.dto.CreateCommentRequest;
 import at.geise.test.springboot4test.dto.UpdateCommentRequest;
 import at.geise.test.springboot4test.repository.CommentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,13 +24,16 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final TaskService taskService;
     private final ActivityLogService activityLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReactionCounter reactionCounter;
 
+    @Transactional(readOnly = true)
     public List<CommentDto> getCommentsForTask(UUID taskId) {
-        Task task = taskService.get(taskId);
-        return commentRepository.findByTaskOrderByCreatedAtAsc(task)
-                .stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        List<CommentDto> comments = commentRepository.findDtosByTaskId(taskId);
+        if (comments.isEmpty()) {
+            taskService.requireExists(taskId);
+        }
+        return comments;
     }
 
     public CommentDto addComment(UUID taskId, CreateCommentRequest request) {
@@ -41,7 +45,9 @@ public class CommentService {
         // Log the activity
         activityLogService.logCommentAdded(task, request.author());
 
-        return toDto(comment);
+        CommentDto dto = toDto(comment);
+        publish(ChangeEventDto.Action.CREATED, dto);
+        return dto;
     }
 
     public CommentDto updateComment(UUID commentId, UpdateCommentRequest request) {
@@ -52,7 +58,9 @@ public class CommentService {
         comment.setUpdatedAt(LocalDateTime.now());
         comment = commentRepository.save(comment);
 
-        return toDto(comment);
+        CommentDto dto = toDto(comment);
+        publish(ChangeEventDto.Action.UPDATED, dto);
+        return dto;
     }
 
     public void deleteComment(UUID commentId) {
@@ -60,11 +68,28 @@ public class CommentService {
                 .orElseThrow(() -> new IllegalArgumentException("Comment not found: " + commentId));
 
         commentRepository.delete(comment);
+        eventPublisher.publishEvent(ChangeEventDto.of(ChangeEventDto.Type.COMMENT, ChangeEventDto.Action.DELETED,
+                comment.getTask().getId(), commentId, null));
+    }
+
+    public void addReaction(UUID commentId, String emoji) {
+        if (emoji == null || emoji.isBlank() || emoji.length() > 32) {
+            throw new IllegalArgumentException("Invalid emoji: " + emoji);
+        }
+        if (!commentRepository.existsById(commentId)) {
+            throw new IllegalArgumentException("Comment not found: " + commentId);
+        }
+        reactionCounter.increment(commentId, emoji);
     }
 
+    @Transactional(readOnly = true)
     public long getCommentCountForTask(UUID taskId) {
-        Task task = taskService.get(taskId);
-        return commentRepository.countByTask(task);
+        return commentRepository.countIfTaskExists(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Task not found: " + taskId));
+    }
+
+    private void publish(ChangeEventDto.Action action, CommentDto dto) {
+        eventPublisher.publishEvent(ChangeEventDto.of(ChangeEventDto.Type.COMMENT, action, dto.taskId(), dto.id(), dto));
     }
 
     private CommentDto toDto(Comment comment) {
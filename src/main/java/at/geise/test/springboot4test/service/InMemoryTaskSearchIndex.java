@@ -0,0 +1,252 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.dto.ChangeEventDto;
+import at.geise.test.springboot4test.dto.CommentDto;
+import at.geise.test.springboot4test.dto.TaskDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index for H2 and dev. Every task (title and description) and every comment is
+ * one document; postings map each lowercased word to the documents containing it. The index is
+ * loaded from the database once the application is up and then kept current from the TASK and
+ * COMMENT change events {@link TaskService} and {@link CommentService} publish after commit.
+ * <p>
+ * Matching is on whole words without stemming. A document scores the sum over query terms of its
+ * term weight (title 1.0, description 0.4, comment 0.2, times {@code 1 + ln(count)}) multiplied by
+ * the term's inverse document frequency.
+ */
+@Component
+@Profile("!prod")
+@Slf4j
+public class InMemoryTaskSearchIndex implements TaskSearchIndex {
+
+    static final double TITLE_WEIGHT = 1.0;
+    static final double DESCRIPTION_WEIGHT = 0.4;
+    static final double COMMENT_WEIGHT = 0.2;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<Match> RANK_ORDER = Comparator.comparingDouble(Match::rank).reversed()
+            .thenComparing(Match::taskId);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Document id is the task id for task text and the comment id for comments
+    private final Map<UUID, Document> documents = new HashMap<>();
+    private final Map<String, Set<UUID>> postings = new HashMap<>();
+    private final Map<UUID, Set<UUID>> commentsByTask = new HashMap<>();
+
+    public InMemoryTaskSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            commentsByTask.clear();
+            jdbcTemplate.query("SELECT id, title, description FROM tasks", rs -> {
+                putTask(rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3));
+            });
+            jdbcTemplate.query("SELECT id, task_id, content FROM comments", rs -> {
+                putComment(rs.getObject(1, UUID.class), rs.getObject(2, UUID.class), rs.getString(3));
+            });
+            log.info("Search index loaded: {} documents, {} terms", documents.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEventDto event) {
+        lock.writeLock().lock();
+        try {
+            switch (event.type()) {
+                case TASK -> {
+                    if (event.action() == ChangeEventDto.Action.DELETED) {
+                        removeTask(event.id());
+                    } else if (event.data() instanceof TaskDto dto) {
+                        putTask(dto.id(), dto.title(), dto.description());
+                    }
+                }
+                case COMMENT -> {
+                    if (event.action() == ChangeEventDto.Action.DELETED) {
+                        removeComment(event.id());
+                    } else if (event.data() instanceof CommentDto dto) {
+                        putComment(dto.id(), dto.taskId(), dto.content());
+                    }
+                }
+                default -> {
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void indexTasks(Collection<TaskDto> tasks) {
+        lock.writeLock().lock();
+        try {
+            tasks.forEach(dto -> putTask(dto.id(), dto.title(), dto.description()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<Match> search(String query, Pageable pageable) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        List<Match> matches;
+        lock.readLock().lock();
+        try {
+            matches = rank(terms);
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(RANK_ORDER);
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return new PageImpl<>(List.copyOf(matches.subList(from, to)), pageable, matches.size());
+    }
+
+    private List<Match> rank(Set<String> terms) {
+        List<Set<UUID>> candidates = new ArrayList<>(terms.size());
+        Map<String, Double> idf = new HashMap<>();
+        for (String term : terms) {
+            Set<UUID> posting = postings.get(term);
+            if (posting == null) {
+                return new ArrayList<>();
+            }
+            candidates.add(posting);
+            idf.put(term, Math.log(1 + (double) documents.size() / posting.size()));
+        }
+        // Walk the rarest term's documents and check the others by lookup
+        candidates.sort(Comparator.comparingInt(Set::size));
+
+        Map<UUID, Double> byTask = new HashMap<>();
+        for (UUID documentId : candidates.get(0)) {
+            if (!containsAll(candidates, documentId)) {
+                continue;
+            }
+            Document document = documents.get(documentId);
+            double score = 0;
+            for (String term : terms) {
+                score += document.weights().get(term) * idf.get(term);
+            }
+            byTask.merge(document.taskId(), score, Double::sum);
+        }
+        List<Match> matches = new ArrayList<>(byTask.size());
+        byTask.forEach((taskId, score) -> matches.add(new Match(taskId, score)));
+        return matches;
+    }
+
+    private static boolean containsAll(List<Set<UUID>> candidates, UUID documentId) {
+        for (int i = 1; i < candidates.size(); i++) {
+            if (!candidates.get(i).contains(documentId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void putTask(UUID taskId, String title, String description) {
+        Map<String, Double> weights = new HashMap<>();
+        addWeights(weights, title, TITLE_WEIGHT);
+        addWeights(weights, description, DESCRIPTION_WEIGHT);
+        put(taskId, new Document(taskId, weights));
+    }
+
+    private void putComment(UUID commentId, UUID taskId, String content) {
+        Map<String, Double> weights = new HashMap<>();
+        addWeights(weights, content, COMMENT_WEIGHT);
+        put(commentId, new Document(taskId, weights));
+        commentsByTask.computeIfAbsent(taskId, id -> new HashSet<>()).add(commentId);
+    }
+
+    private void removeTask(UUID taskId) {
+        remove(taskId);
+        Set<UUID> comments = commentsByTask.remove(taskId);
+        if (comments != null) {
+            comments.forEach(this::remove);
+        }
+    }
+
+    private void removeComment(UUID commentId) {
+        Document removed = remove(commentId);
+        if (removed != null) {
+            Set<UUID> comments = commentsByTask.get(removed.taskId());
+            if (comments != null && comments.remove(commentId) && comments.isEmpty()) {
+                commentsByTask.remove(removed.taskId());
+            }
+        }
+    }
+
+    private void put(UUID documentId, Document document) {
+        remove(documentId);
+        documents.put(documentId, document);
+        document.weights().keySet().forEach(term -> postings.computeIfAbsent(term, t -> new HashSet<>()).add(documentId));
+    }
+
+    private Document remove(UUID documentId) {
+        Document previous = documents.remove(documentId);
+        if (previous != null) {
+            for (String term : previous.weights().keySet()) {
+                Set<UUID> posting = postings.get(term);
+                if (posting != null && posting.remove(documentId) && posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        return previous;
+    }
+
+    private static void addWeights(Map<String, Double> weights, String text, double fieldWeight) {
+        Map<String, Integer> counts = new HashMap<>();
+        tokenize(text).forEach(term -> counts.merge(term, 1, Integer::sum));
+        counts.forEach((term, count) -> weights.merge(term, fieldWeight * (1 + Math.log(count)), Double::sum));
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    private record Document(UUID taskId, Map<String, Double> weights) {}
+}
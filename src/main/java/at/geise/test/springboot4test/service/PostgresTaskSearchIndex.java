@@ -0,0 +1,100 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.dto.TaskDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Postgres full-text search over expression GIN indexes on {@code tasks} (title weighted A,
+ * description B) and {@code comments} (content). Postgres maintains the indexes in the writing
+ * transaction, so task and comment writes need no extra work here. Queries use
+ * {@code plainto_tsquery} (all terms must match) and {@code ts_rank}; comment matches count with
+ * weight C. With {@code search.postgres.create-indexes} the indexes are created on startup if missing.
+ */
+@Component
+@Profile("prod")
+@Slf4j
+public class PostgresTaskSearchIndex implements TaskSearchIndex {
+
+    // Must stay identical to the index expressions for the planner to use the GIN indexes
+    static final String TASK_VECTOR = """
+            (setweight(to_tsvector('english', coalesce(title, '')), 'A') \
+            || setweight(to_tsvector('english', coalesce(description, '')), 'B'))""";
+    static final String COMMENT_VECTOR = "to_tsvector('english', content)";
+
+    static final String[] INDEX_DDL = {
+            "CREATE INDEX IF NOT EXISTS idx_tasks_search ON tasks USING GIN (" + TASK_VECTOR + ")",
+            "CREATE INDEX IF NOT EXISTS idx_comments_search ON comments USING GIN (" + COMMENT_VECTOR + ")"
+    };
+
+    static final String MATCHES_SQL = """
+            WITH q AS (SELECT plainto_tsquery('english', ?) AS query),
+            matches AS (
+                SELECT t.id AS task_id, ts_rank(%1$s, q.query) AS rank
+                FROM tasks t, q WHERE %1$s @@ q.query
+                UNION ALL
+                SELECT c.task_id, ts_rank(setweight(%2$s, 'C'), q.query)
+                FROM comments c, q WHERE %2$s @@ q.query
+            )
+            """.formatted(TASK_VECTOR, COMMENT_VECTOR);
+    static final String SEARCH_SQL = MATCHES_SQL + """
+            SELECT task_id, SUM(rank) AS rank, COUNT(*) OVER () AS total
+            FROM matches GROUP BY task_id
+            ORDER BY rank DESC, task_id
+            LIMIT ? OFFSET ?
+            """;
+    static final String COUNT_SQL = MATCHES_SQL + "SELECT COUNT(DISTINCT task_id) FROM matches";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean createIndexes;
+
+    public PostgresTaskSearchIndex(JdbcTemplate jdbcTemplate,
+                                   @Value("${search.postgres.create-indexes:true}") boolean createIndexes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.createIndexes = createIndexes;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        if (!createIndexes) {
+            return;
+        }
+        for (String ddl : INDEX_DDL) {
+            jdbcTemplate.execute(ddl);
+        }
+        log.info("Full-text search indexes present on tasks and comments");
+    }
+
+    @Override
+    public Page<Match> search(String query, Pageable pageable) {
+        List<Match> matches = new ArrayList<>(pageable.getPageSize());
+        long[] total = {0};
+        jdbcTemplate.query(SEARCH_SQL, rs -> {
+            matches.add(new Match(rs.getObject("task_id", UUID.class), rs.getDouble("rank")));
+            total[0] = rs.getLong("total");
+        }, query, pageable.getPageSize(), pageable.getOffset());
+        if (matches.isEmpty() && pageable.getOffset() > 0) {
+            Long count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, query);
+            total[0] = count != null ? count : 0;
+        }
+        return new PageImpl<>(matches, pageable, total[0]);
+    }
+
+    @Override
+    public void indexTasks(Collection<TaskDto> tasks) {
+        // Covered by the expression indexes
+    }
+}
@@ -0,0 +1,163 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.domain.TimeOrderedUuid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reaction counts applied as atomic deltas. With {@code reactions.coalesce.enabled} clicks are
+ * accumulated per {@code (comment, emoji)} in {@link StripedCounter}s and written every
+ * {@code reactions.flush-interval}, so a popular comment costs one write per interval instead of
+ * one per click. Without coalescing each click is written immediately. Either way the database
+ * only ever sees a single {@code MERGE} adding the delta, never a read-modify-write from Java.
+ */
+@Component
+@Slf4j
+public class ReactionCounter implements SmartLifecycle {
+
+    // Standard MERGE (H2, PostgreSQL 15+); a concurrent insert of the same key surfaces as a unique violation and is retried
+    static final String UPSERT_SQL = """
+            MERGE INTO reactions r
+            USING (VALUES (CAST(? AS UUID), CAST(? AS VARCHAR(32)), CAST(? AS BIGINT), CAST(? AS UUID), CAST(? AS TIMESTAMP)))
+                AS d (comment_id, emoji, delta, id, created_at)
+            ON r.comment_id = d.comment_id AND r.emoji = d.emoji
+            WHEN MATCHED THEN UPDATE SET count = r.count + d.delta
+            WHEN NOT MATCHED THEN INSERT (id, comment_id, emoji, count, created_at)
+                VALUES (d.id, d.comment_id, d.emoji, d.delta, d.created_at)
+            """;
+
+    record Key(UUID commentId, String emoji) {
+    }
+
+    record Delta(Key key, long amount) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean coalesce;
+    private final int stripes;
+    private final Map<Key, StripedCounter> pending = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    public ReactionCounter(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${reactions.coalesce.enabled:true}") boolean coalesce,
+                           @Value("${reactions.coalesce.stripes:8}") int stripes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.coalesce = coalesce;
+        this.stripes = stripes;
+    }
+
+    public void increment(UUID commentId, String emoji) {
+        Key key = new Key(commentId, emoji);
+        if (!coalesce || !running) {
+            apply(List.of(new Delta(key, 1)));
+            return;
+        }
+        while (!pending.computeIfAbsent(key, k -> new StripedCounter(stripes)).add(1)) {
+            // Retired by a concurrent flush between lookup and add; the next lookup creates a fresh counter
+        }
+    }
+
+    /** Increments accepted but not yet written. */
+    public long pendingCount(UUID commentId, String emoji) {
+        StripedCounter counter = pending.get(new Key(commentId, emoji));
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Writes all accumulated increments. Counters that saw no clicks since the last flush are retired
+     * and removed so the map only holds recently active reactions.
+     *
+     * @return the number of {@code (comment, emoji)} rows touched
+     */
+    @Scheduled(fixedDelayString = "${reactions.flush-interval:250ms}")
+    public int flush() {
+        List<Delta> deltas = new ArrayList<>();
+        pending.forEach((key, counter) -> {
+            long amount = counter.drain();
+            if (amount == 0 && pending.remove(key, counter)) {
+                amount = counter.retire();
+            }
+            if (amount != 0) {
+                deltas.add(new Delta(key, amount));
+            }
+        });
+        if (!deltas.isEmpty()) {
+            apply(deltas);
+        }
+        return deltas.size();
+    }
+
+    private void apply(List<Delta> deltas) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> upsert(deltas));
+        } catch (DataIntegrityViolationException e) {
+            // Either a concurrent insert won the unique key or a comment was deleted; sort it out row by row
+            log.debug("Reaction batch of {} failed, retrying individually: {}", deltas.size(), e.getMessage());
+            deltas.forEach(this::applySingle);
+        }
+    }
+
+    private void applySingle(Delta delta) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> upsert(List.of(delta)));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                // The retry succeeds when the first attempt lost an insert race; a second failure means the comment is gone
+                if (attempt == 2) {
+                    log.warn("Dropping {} reaction(s) {} for comment {}: {}", delta.amount(), delta.key().emoji(),
+                            delta.key().commentId(), e.getMessage());
+                    return;
+                }
+            }
+        }
+    }
+
+    // One statement per delta, so the outcome never depends on driver-reported update counts
+    private void upsert(List<Delta> deltas) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setObject(1, delta.key().commentId());
+            ps.setString(2, delta.key().emoji());
+            ps.setLong(3, delta.amount());
+            ps.setObject(4, TimeOrderedUuid.next());
+            ps.setObject(5, now);
+        });
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        int flushed = flush();
+        if (flushed > 0) {
+            log.info("Flushed {} pending reaction counters on shutdown", flushed);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,158 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.dto.ActivityLogDto;
+import at.geise.test.springboot4test.dto.ChangeEventDto;
+import at.geise.test.springboot4test.repository.ActivityLogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Ring buffer of the latest {@code activity.feed.capacity} activity entries across all tasks, fed by
+ * the ACTIVITY change events the writers publish once rows are stored. The first page of the global
+ * feed is served from here in O(limit) without touching {@code activity_logs}. Entries are kept sorted
+ * by {@code (timestamp, id)} like the database feed; late arrivals (e.g. relayed creation entries) are
+ * moved back to their position on insert, which is cheap because arrivals are nearly ordered.
+ * <p>
+ * The buffer only sees entries written by this instance, so it is for single-instance deployments;
+ * with {@code activity.feed.buffer-enabled=false} it stays cold and the feed always uses the keyset
+ * query. Archiving calls {@link #reload()} so entries that left {@code activity_logs} are not served.
+ */
+@Component
+public class RecentActivityBuffer {
+
+    // Same order as the database: timestamp, then id compared as unsigned bytes
+    static final Comparator<ActivityLogDto> FEED_ORDER = Comparator.comparing(ActivityLogDto::timestamp)
+            .thenComparing(ActivityLogDto::id, (a, b) -> {
+                int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+                return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+            });
+
+    private final ActivityLogRepository activityLogRepository;
+    private final boolean enabled;
+    private final ActivityLogDto[] ring;
+    private final Object reloadLock = new Object();
+    private int head;
+    private int size;
+    private List<ActivityLogDto> arrivedDuringReload;
+    private volatile boolean warm;
+
+    public RecentActivityBuffer(ActivityLogRepository activityLogRepository,
+                                @Value("${activity.feed.buffer-enabled:true}") boolean enabled,
+                                @Value("${activity.feed.capacity:500}") int capacity) {
+        this.activityLogRepository = activityLogRepository;
+        this.enabled = enabled;
+        this.ring = new ActivityLogDto[enabled ? capacity : 0];
+    }
+
+    public int capacity() {
+        return ring.length;
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    @EventListener
+    public void onChange(ChangeEventDto event) {
+        if (event.type() == ChangeEventDto.Type.ACTIVITY && event.action() == ChangeEventDto.Action.CREATED
+                && event.data() instanceof ActivityLogDto dto) {
+            add(dto);
+        }
+    }
+
+    /**
+     * Replaces the content with the newest stored rows: once the application is up, and after archiving.
+     * Entries added while the query runs are merged in, so none is lost to the reload.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (reloadLock) {
+            synchronized (this) {
+                arrivedDuringReload = new ArrayList<>();
+            }
+            List<ActivityLogDto> latest = activityLogRepository.findLatest(PageRequest.of(0, ring.length));
+            synchronized (this) {
+                Set<UUID> seen = new HashSet<>();
+                clear();
+                for (int i = latest.size() - 1; i >= 0; i--) {
+                    seen.add(latest.get(i).id());
+                    append(latest.get(i));
+                }
+                for (ActivityLogDto arrived : arrivedDuringReload) {
+                    if (seen.add(arrived.id())) {
+                        append(arrived);
+                    }
+                }
+                arrivedDuringReload = null;
+                warm = true;
+            }
+        }
+    }
+
+    public synchronized void add(ActivityLogDto dto) {
+        if (!enabled) {
+            return;
+        }
+        append(dto);
+        if (arrivedDuringReload != null) {
+            arrivedDuringReload.add(dto);
+        }
+    }
+
+    /** Newest first, at most {@code limit} entries. */
+    public synchronized List<ActivityLogDto> latest(int limit) {
+        return snapshot(Math.min(limit, size));
+    }
+
+    private List<ActivityLogDto> snapshot(int count) {
+        List<ActivityLogDto> result = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            result.add(ring[Math.floorMod(head - i, ring.length)]);
+        }
+        return result;
+    }
+
+    private void append(ActivityLogDto dto) {
+        if (size == ring.length) {
+            int oldest = head;
+            if (FEED_ORDER.compare(dto, ring[oldest]) < 0) {
+                return; // older than everything retained
+            }
+        } else {
+            size++;
+        }
+        ring[head] = dto;
+        int current = head;
+        head = (head + 1) % ring.length;
+        for (int steps = 1; steps < size; steps++) {
+            int previous = Math.floorMod(current - 1, ring.length);
+            if (FEED_ORDER.compare(ring[previous], ring[current]) <= 0) {
+                break;
+            }
+            ActivityLogDto swap = ring[previous];
+            ring[previous] = ring[current];
+            ring[current] = swap;
+            current = previous;
+        }
+    }
+
+    private void clear() {
+        Arrays.fill(ring, null);
+        head = 0;
+        size = 0;
+    }
+}
@@ -0,0 +1,75 @@
+package at.geise.test.springboot4test.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counter spread over several cells so concurrent writers rarely CAS the same slot. Unlike
+ * {@link java.util.concurrent.atomic.LongAdder}, draining swaps each cell atomically, so no
+ * increment is lost while a flush is running. A retired counter rejects further adds, which lets
+ * the owner drop idle counters without racing writers that still hold a reference.
+ */
+final class StripedCounter {
+
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    private final AtomicLongArray cells;
+    private final int mask;
+
+    StripedCounter(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.cells = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return {@code false} if the counter has been retired and the caller must use a fresh one
+     */
+    boolean add(long delta) {
+        int index = ThreadLocalRandom.current().nextInt() & mask;
+        while (true) {
+            long current = cells.get(index);
+            if (current == RETIRED) {
+                return false;
+            }
+            if (cells.compareAndSet(index, current, current + delta)) {
+                return true;
+            }
+            // Contended: probe another cell rather than spinning on this one
+            index = ThreadLocalRandom.current().nextInt() & mask;
+        }
+    }
+
+    /** Takes and resets the accumulated value. */
+    long drain() {
+        return swapAll(0);
+    }
+
+    /** Takes the remaining value and rejects all later adds. */
+    long retire() {
+        return swapAll(RETIRED);
+    }
+
+    /** Current value without resetting it. */
+    long sum() {
+        long sum = 0;
+        for (int i = 0; i < cells.length(); i++) {
+            long value = cells.get(i);
+            if (value != RETIRED) {
+                sum += value;
+            }
+        }
+        return sum;
+    }
+
+    private long swapAll(long replacement) {
+        long sum = 0;
+        for (int i = 0; i < cells.length(); i++) {
+            long value = cells.getAndSet(i, replacement);
+            if (value != RETIRED) {
+                sum += value;
+            }
+        }
+        return sum;
+    }
+}
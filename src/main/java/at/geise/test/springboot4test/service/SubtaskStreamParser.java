@@ -0,0 +1,85 @@
+package at.geise.test.springboot4test.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental parser for the decomposition JSON ({@code {"subtasks": ["...", "..."]}}) as it
+ * arrives in streamed completion deltas. Every string literal inside the first JSON array is
+ * returned as soon as its closing quote has been seen, so callers can forward subtasks before
+ * the model has finished generating. Markdown code fences and the key itself are ignored.
+ * {@link #isComplete()} tells a finished list from a stream that was cut off mid-way.
+ */
+class SubtaskStreamParser {
+
+    private enum State { BEFORE_ARRAY, IN_ARRAY, IN_STRING, IN_ESCAPE, IN_UNICODE, DONE }
+
+    private State state = State.BEFORE_ARRAY;
+    private final StringBuilder current = new StringBuilder();
+    private final StringBuilder unicode = new StringBuilder(4);
+
+    List<String> feed(String chunk) {
+        List<String> completed = new ArrayList<>();
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            switch (state) {
+                case BEFORE_ARRAY -> {
+                    if (c == '[') {
+                        state = State.IN_ARRAY;
+                    }
+                }
+                case IN_ARRAY -> {
+                    if (c == '"') {
+                        state = State.IN_STRING;
+                    } else if (c == ']') {
+                        state = State.DONE;
+                    }
+                }
+                case IN_STRING -> {
+                    if (c == '\\') {
+                        state = State.IN_ESCAPE;
+                    } else if (c == '"') {
+                        completed.add(current.toString());
+                        current.setLength(0);
+                        state = State.IN_ARRAY;
+                    } else {
+                        current.append(c);
+                    }
+                }
+                case IN_ESCAPE -> {
+                    state = State.IN_STRING;
+                    switch (c) {
+                        case 'n' -> current.append('\n');
+                        case 't' -> current.append('\t');
+                        case 'r' -> current.append('\r');
+                        case 'b' -> current.append('\b');
+                        case 'f' -> current.append('\f');
+                        case 'u' -> state = State.IN_UNICODE;
+                        default -> current.append(c);
+                    }
+                }
+                case IN_UNICODE -> {
+                    unicode.append(c);
+                    if (unicode.length() == 4) {
+                        try {
+                            current.append((char) Integer.parseInt(unicode.toString(), 16));
+                        } catch (NumberFormatException e) {
+                            current.append("\\u").append(unicode);
+                        }
+                        unicode.setLength(0);
+                        state = State.IN_STRING;
+                    }
+                }
+                case DONE -> {
+                    return completed;
+                }
+            }
+        }
+        return completed;
+    }
+
+    /** Whether the closing bracket of the array has been seen. */
+    boolean isComplete() {
+        return state == State.DONE;
+    }
+}
@@ -0,0 +1,359 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.domain.TimeOrderedUuid;
+import at.geise.test.springboot4test.dto.TaskDto;
+import at.geise.test.springboot4test.dto.TaskImportResult;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming bulk import and export of tasks for migrations. Imports read the body line by line,
+ * validate every row like the single-task API (except that due dates may lie in the past) and keep
+ * {@code id}, {@code createdAt} and {@code updatedAt} when given, so an export re-imports as the same
+ * tasks. Valid rows are inserted with JDBC batches, committing
+ * every {@code tasks.bulk.commit-size} rows; invalid rows are reported and skipped. Imported tasks
+ * bypass per-row activity logging and change events and are handed to the search index per batch. Exports stream rows from a database cursor
+ * ({@code tasks.bulk.fetch-size} rows per round trip) straight to the response.
+ */
+@Service
+@Slf4j
+public class TaskBulkService {
+
+    static final String INSERT_SQL = """
+            INSERT INTO tasks (id, title, description, priority, status, due_date, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+    static final String EXPORT_SQL = """
+            SELECT id, title, description, priority, status, due_date, created_at, updated_at
+            FROM tasks ORDER BY created_at, id
+            """;
+    static final String[] CSV_COLUMNS = {"id", "title", "description", "priority", "status", "dueDate", "createdAt", "updatedAt"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate exportJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate exportTransactionTemplate;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final TaskSearchIndex searchIndex;
+    private final int commitSize;
+    private final int maxReportedErrors;
+
+    public TaskBulkService(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           Validator validator,
+                           JsonMapper jsonMapper,
+                           TaskSearchIndex searchIndex,
+                           @Value("${tasks.bulk.commit-size:1000}") int commitSize,
+                           @Value("${tasks.bulk.fetch-size:500}") int fetchSize,
+                           @Value("${tasks.bulk.max-reported-errors:100}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.exportJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.exportJdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = transactionTemplate;
+        this.exportTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.exportTransactionTemplate.setReadOnly(true);
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        this.searchIndex = searchIndex;
+        this.commitSize = commitSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public TaskImportResult importNdjson(InputStream body) {
+        Importer importer = new Importer();
+        try (BufferedReader reader = reader(body)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    importer.accept(lineNumber, jsonMapper.readValue(line, TaskRow.class));
+                } catch (JacksonException e) {
+                    importer.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return importer.finish();
+    }
+
+    public TaskImportResult importCsv(InputStream body) {
+        Importer importer = new Importer();
+        try (BufferedReader reader = reader(body)) {
+            long[] lines = {0};
+            List<String> header = CsvCodec.readRecord(reader, lines);
+            if (header == null) {
+                return importer.finish();
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim(), i);
+            }
+            for (String required : List.of("title", "priority", "status")) {
+                if (!columns.containsKey(required)) {
+                    throw new IllegalArgumentException("CSV header is missing column: " + required);
+                }
+            }
+            while (true) {
+                long lineNumber = lines[0] + 1;
+                List<String> fields;
+                try {
+                    fields = CsvCodec.readRecord(reader, lines);
+                } catch (IllegalArgumentException e) {
+                    importer.reject(lineNumber, e.getMessage());
+                    break;
+                }
+                if (fields == null) {
+                    break;
+                }
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                try {
+                    importer.accept(lineNumber, new TaskRow(
+                            uuidField(fields, columns, "id"),
+                            field(fields, columns, "title"),
+                            field(fields, columns, "description"),
+                            enumField(fields, columns, "priority", Task.Priority.class),
+                            enumField(fields, columns, "status", Task.Status.class),
+                            dateField(fields, columns, "dueDate"),
+                            dateField(fields, columns, "createdAt"),
+                            dateField(fields, columns, "updatedAt")));
+                } catch (RuntimeException e) {
+                    importer.reject(lineNumber, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return importer.finish();
+    }
+
+    public void exportNdjson(OutputStream out) {
+        export(out, (writer, row) -> {
+            writer.write(jsonMapper.writeValueAsString(row));
+            writer.write('\n');
+        }, null);
+    }
+
+    public void exportCsv(OutputStream out) {
+        export(out, (writer, row) -> writer.write(CsvCodec.formatRecord(row.id(), row.title(), row.description(),
+                row.priority(), row.status(), row.dueDate(), row.createdAt(), row.updatedAt())),
+                CsvCodec.formatRecord((Object[]) CSV_COLUMNS));
+    }
+
+    /** Export and import shape: the task as the REST API returns it. */
+    record TaskRow(UUID id, String title, String description, Task.Priority priority, Task.Status status,
+                   LocalDateTime dueDate, LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        TaskDto toDto() {
+            return new TaskDto(id, title, description, priority, status, dueDate);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Writer writer, TaskRow row) throws IOException;
+    }
+
+    private void export(OutputStream out, RowWriter rowWriter, String header) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // Postgres only streams with a cursor inside a transaction; otherwise it buffers the whole result
+        exportTransactionTemplate.executeWithoutResult(status -> {
+            try {
+                if (header != null) {
+                    writer.write(header);
+                }
+                exportJdbcTemplate.query(EXPORT_SQL, (ResultSet rs) -> {
+                    try {
+                        rowWriter.write(writer, mapRow(rs));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static TaskRow mapRow(ResultSet rs) throws SQLException {
+        return new TaskRow(
+                rs.getObject("id", UUID.class),
+                rs.getString("title"),
+                rs.getString("description"),
+                Task.Priority.valueOf(rs.getString("priority")),
+                Task.Status.valueOf(rs.getString("status")),
+                toLocalDateTime(rs.getTimestamp("due_date")),
+                toLocalDateTime(rs.getTimestamp("created_at")),
+                toLocalDateTime(rs.getTimestamp("updated_at")));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private static BufferedReader reader(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <E extends Enum<E>> E enumField(List<String> fields, Map<String, Integer> columns, String name, Class<E> type) {
+        String value = field(fields, columns, name);
+        try {
+            return value == null ? null : Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(name + ": unknown value '" + value + "'");
+        }
+    }
+
+    private static UUID uuidField(List<String> fields, Map<String, Integer> columns, String name) {
+        String value = field(fields, columns, name);
+        try {
+            return value == null ? null : UUID.fromString(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(name + ": invalid UUID '" + value + "'");
+        }
+    }
+
+    private static LocalDateTime dateField(List<String> fields, Map<String, Integer> columns, String name) {
+        String value = field(fields, columns, name);
+        try {
+            return value == null ? null : LocalDateTime.parse(value.trim());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(name + ": invalid date-time '" + value + "'");
+        }
+    }
+
+    /** Collects valid rows and writes them in committed batches. */
+    private final class Importer {
+
+        private final List<Pending> pending = new ArrayList<>(commitSize);
+        private final List<TaskImportResult.RowError> errors = new ArrayList<>();
+        private long imported;
+        private long rejected;
+
+        void accept(long line, TaskRow row) {
+            var violations = validator.validate(row.toDto(), TaskDto.Import.class);
+            if (!violations.isEmpty()) {
+                reject(line, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            pending.add(new Pending(line, row));
+            if (pending.size() >= commitSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new TaskImportResult.RowError(line, message));
+            }
+        }
+
+        TaskImportResult finish() {
+            flush();
+            log.info("Bulk import finished: {} imported, {} rejected", imported, rejected);
+            return new TaskImportResult(imported, rejected, List.copyOf(errors));
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<Pending> rows = pending.stream()
+                    .map(p -> new Pending(p.line(), new TaskRow(p.row().id() != null ? p.row().id() : TimeOrderedUuid.next(),
+                            p.row().title(), p.row().description(), p.row().priority(), p.row().status(), p.row().dueDate(),
+                            p.row().createdAt() != null ? p.row().createdAt() : now, p.row().updatedAt())))
+                    .toList();
+            List<Pending> written = rows;
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, p) -> bind(ps, p.row())));
+            } catch (DataAccessException e) {
+                // Typically an id that already exists; find and report the offending rows instead of failing the batch
+                written = rows.stream().filter(this::insertSingle).toList();
+            }
+            searchIndex.indexTasks(written.stream().map(p -> p.row().toDto()).toList());
+            imported += written.size();
+            pending.clear();
+        }
+
+        private boolean insertSingle(Pending p) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, p.row()));
+                return true;
+            } catch (DuplicateKeyException e) {
+                reject(p.line(), "id: task " + p.row().id() + " already exists");
+            } catch (DataAccessException e) {
+                reject(p.line(), e.getMostSpecificCause().getMessage());
+            }
+            return false;
+        }
+    }
+
+    private record Pending(long line, TaskRow row) {
+    }
+
+    private static void bind(PreparedStatement ps, TaskRow row) throws SQLException {
+        ps.setObject(1, row.id());
+        ps.setString(2, row.title());
+        ps.setString(3, row.description());
+        ps.setString(4, row.priority().name());
+        ps.setString(5, row.status().name());
+        ps.setObject(6, row.dueDate());
+        ps.setObject(7, row.createdAt());
+        ps.setObject(8, row.updatedAt());
+    }
+}
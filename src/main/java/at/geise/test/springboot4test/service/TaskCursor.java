@@ -0,0 +1,100 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.domain.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keyset position in a task listing: the sort field and direction plus the sort value and id of
+ * the last task returned. Encoded as an opaque URL-safe token. Ordering is always
+ * {@code (field, id)} with nulls last, so the position is unique and stable under inserts.
+ */
+record TaskCursor(Field field, Sort.Direction direction, Comparable<?> value, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    enum Field {
+        CREATED_AT("createdAt", false, Task::getCreatedAt, LocalDateTime::parse),
+        TITLE("title", false, Task::getTitle, raw -> raw),
+        PRIORITY("priority", false, Task::getPriority, Task.Priority::valueOf),
+        STATUS("status", false, Task::getStatus, Task.Status::valueOf),
+        DUE_DATE("dueDate", true, Task::getDueDate, LocalDateTime::parse);
+
+        final String property;
+        final boolean nullable;
+        private final Function<Task, Comparable<?>> extractor;
+        private final Function<String, Comparable<?>> parser;
+
+        Field(String property, boolean nullable, Function<Task, Comparable<?>> extractor,
+              Function<String, Comparable<?>> parser) {
+            this.property = property;
+            this.nullable = nullable;
+            this.extractor = extractor;
+            this.parser = parser;
+        }
+
+        static Field of(String property) {
+            return Arrays.stream(values())
+                    .filter(field -> field.property.equals(property))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported sort field: " + property));
+        }
+    }
+
+    static TaskCursor after(Task last, Field field, Sort.Direction direction) {
+        return new TaskCursor(field, direction, field.extractor.apply(last), last.getId());
+    }
+
+    static Sort sort(Field field, Sort.Direction direction) {
+        return Sort.by(new Sort.Order(direction, field.property).nullsLast(), new Sort.Order(direction, "id"));
+    }
+
+    String encode() {
+        String raw = String.join(SEPARATOR, field.property, direction.name(), id.toString(),
+                value == null ? "n" : "v" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, 4);
+            Field field = Field.of(parts[0]);
+            Comparable<?> value = parts[3].startsWith("v") ? field.parser.apply(parts[3].substring(1)) : null;
+            return new TaskCursor(field, Sort.Direction.fromString(parts[1]), value, UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    /**
+     * Rows strictly after this position. Written as {@code field >= v AND (field > v OR id > last)}
+     * rather than a plain OR so the leading range can be served by the {@code (field, id)} index.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Specification<Task> toSpecification() {
+        return (root, query, cb) -> {
+            Path<Comparable> path = root.get(field.property);
+            Path<UUID> idPath = root.get("id");
+            boolean ascending = direction.isAscending();
+            Predicate idAfter = ascending ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+            if (value == null) {
+                return cb.and(cb.isNull(path), idAfter);
+            }
+            Comparable v = value;
+            Predicate keyset = ascending
+                    ? cb.and(cb.greaterThanOrEqualTo(path, v), cb.or(cb.greaterThan(path, v), idAfter))
+                    : cb.and(cb.lessThanOrEqualTo(path, v), cb.or(cb.lessThan(path, v), idAfter));
+            return field.nullable ? cb.or(keyset, cb.isNull(path)) : keyset;
+        };
+    }
+}
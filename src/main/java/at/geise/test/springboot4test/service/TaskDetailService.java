@@ -0,0 +1,40 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.TaskDetailView;
+import at.geise.test.springboot4test.dto.TaskDto;
+import at.geise.test.springboot4test.repository.ActivityLogRepository;
+import at.geise.test.springboot4test.repository.CommentRepository;
+import at.geise.test.springboot4test.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Read model for the task edit view: the task, its most recent activity and its comments with
+ * reactions in three statements, however many comments the task has.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TaskDetailService {
+
+    static final int RECENT_ACTIVITY_LIMIT = 50;
+
+    private final TaskRepository taskRepository;
+    private final ActivityLogRepository activityLogRepository;
+    private final CommentRepository commentRepository;
+
+    public TaskDetailView getDetail(UUID taskId) {
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Task not found: " + taskId));
+        TaskDto dto = new TaskDto(task.getId(), task.getTitle(), task.getDescription(), task.getPriority(), task.getStatus(), task.getDueDate());
+        return new TaskDetailView(
+                dto,
+                activityLogRepository.findRecentByTaskId(taskId, PageRequest.of(0, RECENT_ACTIVITY_LIMIT)),
+                commentRepository.findWithReactionsByTaskId(taskId));
+    }
+}
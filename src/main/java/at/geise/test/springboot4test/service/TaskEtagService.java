@@ -0,0 +1,77 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.dto.ResourceVersion;
+import at.geise.test.springboot4test.repository.ActivityLogRepository;
+import at.geise.test.springboot4test.repository.CommentRepository;
+import at.geise.test.springboot4test.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Strong ETags for the task REST representations, derived from the task's version column or a
+ * {@link ResourceVersion} lookup (one statement, no entities loaded) instead of the rendered body. Listings also hash their query
+ * parameters, so every page, filter and sort gets its own tag. The task list tag covers the whole table:
+ * any task change invalidates every cached listing.
+ * <p>
+ * Task-scoped tags are empty when the task does not exist, leaving the 404 to the regular path. A tag
+ * is computed before the body is loaded, so a concurrent write can pair an old tag with a new body;
+ * that only costs the client one extra full response later.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TaskEtagService {
+
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final ActivityLogRepository activityLogRepository;
+    private final ActivityArchiveService activityArchiveService;
+
+    public Optional<String> task(UUID id) {
+        return taskRepository.findVersionById(id).map(version -> etag("task/" + id, version));
+    }
+
+    public String tasks(Object... query) {
+        return etag("tasks", taskRepository.findVersion(), query);
+    }
+
+    public Optional<String> comments(UUID taskId) {
+        return commentRepository.findVersionIfTaskExists(taskId).map(version -> etag("comments/" + taskId, version));
+    }
+
+    /** Archived entries count too: archiving moves entries without changing what the endpoints return. */
+    public Optional<String> activity(UUID taskId, Object... query) {
+        return activityLogRepository.findVersionIfTaskExists(taskId)
+                .map(live -> new ResourceVersion(live.count() + activityArchiveService.countForTask(taskId), live.lastModified()))
+                .map(version -> etag("activity/" + taskId, version, query));
+    }
+
+    static String etag(String resource, ResourceVersion version, Object... parts) {
+        StringBuilder source = new StringBuilder(resource).append('|').append(version.count()).append('|').append(version.lastModified());
+        for (Object part : parts) {
+            source.append('|').append(part);
+        }
+        return hash(source);
+    }
+
+    static String etag(String resource, long version) {
+        return hash(new StringBuilder(resource).append('|').append(version));
+    }
+
+    private static String hash(CharSequence source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(source.toString().getBytes(StandardCharsets.UTF_8));
+            return '"' + HexFormat.of().formatHex(digest, 0, 16) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
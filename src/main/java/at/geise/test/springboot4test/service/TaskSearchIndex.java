@@ -0,0 +1,26 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.dto.TaskDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Full-text index over task titles, descriptions and comment contents. A task matches when its own
+ * text or one of its comments contains every query term; the task's rank sums the ranks of its
+ * matching documents, weighting title over description over comments.
+ * {@link PostgresTaskSearchIndex} backs the {@code prod} profile, {@link InMemoryTaskSearchIndex}
+ * every other one.
+ */
+public interface TaskSearchIndex {
+
+    /** One page of matching task ids, best rank first, with the total number of matching tasks. */
+    Page<Match> search(String query, Pageable pageable);
+
+    /** Indexes tasks written without change events, e.g. by the bulk import. */
+    void indexTasks(Collection<TaskDto> tasks);
+
+    record Match(UUID taskId, double rank) {}
+}
@@ -0,0 +1,57 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.TaskSearchHit;
+import at.geise.test.springboot4test.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TaskSearchService {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final TaskSearchIndex searchIndex;
+    private final TaskRepository repository;
+
+    /**
+     * Ranked full-text search over task titles, descriptions and comments. The index yields one page
+     * of task ids; the tasks themselves are loaded with a single lookup and returned in rank order.
+     */
+    public Page<TaskSearchHit> search(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        PageRequest pageable = PageRequest.of(
+                page == null || page < 0 ? 0 : page,
+                Math.min(size == null || size < 1 ? 10 : size, MAX_PAGE_SIZE));
+        Page<TaskSearchIndex.Match> matches = searchIndex.search(query.trim(), pageable);
+        if (matches.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, matches.getTotalElements());
+        }
+
+        Map<UUID, Task> tasks = repository.findAllById(matches.map(TaskSearchIndex.Match::taskId).getContent()).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        List<TaskSearchHit> hits = matches.stream()
+                .map(match -> {
+                    Task task = tasks.get(match.taskId());
+                    return task != null ? TaskSearchHit.of(task, match.rank()) : null;
+                })
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(hits, pageable, matches.getTotalElements());
+    }
+}
@@ -1,75 +1,133 @@
 package at.geise.test.springboot4test.service;
 
 import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.ChangeEventDto;
+import at.geise.test.springboot4test.dto.CursorPage;
+import at.geise.test.springboot4test.dto.TaskChange;
 import at.geise.test.springboot4test.dto.TaskDto;
+import at.geise.test.springboot4test.dto.TaskFilter;
+import at.geise.test.springboot4test.dto.TaskPatch;
 import at.geise.test.springboot4test.repository.TaskRepository;
+import at.geise.test.springboot4test.repository.TaskSpecifications;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class TaskService {
 
+    static final int MAX_SCROLL_SIZE = 100;
+
     private final TaskRepository repository;
     private final ActivityLogService activityLogService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional(readOnly = true)
     public Page<Task> list(Integer page, Integer size, Task.Status status, Task.Priority priority, String sortBy, String direction) {
+        return list(page, size, TaskFilter.of(status, priority), sortBy, direction);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Task> list(Integer page, Integer size, TaskFilter filter, String sortBy, String direction) {
         PageRequest pr = PageRequest.of(
                 page == null ? 0 : page,
                 size == null ? 10 : size,
                 Sort.Direction.fromString(direction != null ? direction : "DESC"),
                 sortBy != null ? sortBy : "createdAt"
         );
-        if (status != null) {
-            return repository.findByStatus(status, pr);
+        return repository.findAll(TaskSpecifications.matching(filter), pr);
+    }
+
+    /**
+     * Keyset-paginated listing ordered by {@code (sortBy, id)}. Fetches one extra row to detect the
+     * next slice instead of counting. When a cursor is given it fixes the sort field and direction;
+     * filters are not part of the cursor and must be passed again.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Task> scroll(String cursor, Integer size, TaskFilter filter, String sortBy, String direction) {
+        TaskCursor position = cursor != null && !cursor.isBlank() ? TaskCursor.decode(cursor) : null;
+        TaskCursor.Field field = position != null ? position.field() : TaskCursor.Field.of(sortBy != null ? sortBy : "createdAt");
+        Sort.Direction dir = position != null ? position.direction() : Sort.Direction.fromString(direction != null ? direction : "DESC");
+        int limit = Math.min(size == null || size < 1 ? 10 : size, MAX_SCROLL_SIZE);
+
+        Specification<Task> spec = TaskSpecifications.matching(filter);
+        if (position != null) {
+            spec = spec.and(position.toSpecification());
         }
-        if (priority != null) {
-            return repository.findByPriority(priority, pr);
+
+        List<Task> rows = repository.findBy(spec, q -> q.sortBy(TaskCursor.sort(field, dir)).limit(limit + 1).all());
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
         }
-        return repository.findAll(pr);
+        List<Task> items = rows.subList(0, limit);
+        return new CursorPage<>(List.copyOf(items), TaskCursor.after(items.get(limit - 1), field, dir).encode());
     }
 
+    @Transactional(readOnly = true)
     public Task get(UUID id) {
         return repository.findById(id).orElseThrow(() -> new IllegalArgumentException("Task not found: " + id));
     }
 
+    /**
+     * Existence check for child-resource paths that only need the id. Callers query by task id first
+     * and only probe when that came back empty, so the common case stays a single statement.
+     */
+    @Transactional(readOnly = true)
+    public void requireExists(UUID id) {
+        if (!repository.existsById(id)) {
+            throw new IllegalArgumentException("Task not found: " + id);
+        }
+    }
+
     public Task create(TaskDto dto) {
         Task task = new Task();
         apply(dto, task);
         task.setCreatedAt(LocalDateTime.now());
-        return repository.save(task);
+        Task created = repository.save(task);
+        activityLogService.logTaskCreated(created, "System");
+        publish(ChangeEventDto.Action.CREATED, created);
+        return created;
     }
 
+    /** Full update; only the fields whose value differs are written and logged. */
     public Task update(UUID id, TaskDto dto) {
         Task task = get(id);
+        return save(task, apply(TaskPatch.of(dto, task.getVersion()), task));
+    }
 
-        // Track changes before applying updates
-        Task.Status oldStatus = task.getStatus();
-        Task.Priority oldPriority = task.getPriority();
-        String oldTitle = task.getTitle();
-        String oldDescription = task.getDescription();
-        LocalDateTime oldDueDate = task.getDueDate();
-
-        apply(dto, task);
-        task.setUpdatedAt(LocalDateTime.now());
-        Task updatedTask = repository.save(task);
-
-        // Log changes
-        logChanges(task, oldStatus, oldPriority, oldTitle, oldDescription, oldDueDate, dto);
-
-        return updatedTask;
+    /**
+     * Partial update of the fields present in {@code patch}. Rejected with an optimistic locking failure
+     * when {@code patch.getVersion()} is not the current version; a write that lands between this check and
+     * the flush fails the version condition of the UPDATE instead.
+     */
+    public Task patch(UUID id, TaskPatch patch) {
+        Task task = get(id);
+        if (!Objects.equals(task.getVersion(), patch.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, id);
+        }
+        return save(task, apply(patch, task));
     }
 
     public void delete(UUID id) {
         repository.deleteById(id);
+        eventPublisher.publishEvent(ChangeEventDto.of(ChangeEventDto.Type.TASK, ChangeEventDto.Action.DELETED, id, id, null));
     }
 
     private static void apply(TaskDto dto, Task task) {
@@ -80,8 +138,44 @@ public class TaskService {
         task.setDueDate(dto.dueDate());
     }
 
-    private void logChanges(Task task, Task.Status oldStatus, Task.Priority oldPriority, String oldTitle, String oldDescription, LocalDateTime oldDueDate, TaskDto dto) {
-        // Implement logging logic here, e.g., using activityLogService
-        activityLogService.logTaskUpdated(task, oldStatus, oldPriority, oldTitle, oldDescription, oldDueDate, dto);
+    // Fixed field order, which is also the order of the resulting activity entries
+    private static List<TaskChange> apply(TaskPatch patch, Task task) {
+        List<TaskChange> changes = new ArrayList<>();
+        change(changes, TaskChange.Field.STATUS, task.getStatus(), patch.getStatus(), task::setStatus);
+        change(changes, TaskChange.Field.PRIORITY, task.getPriority(), patch.getPriority(), task::setPriority);
+        change(changes, TaskChange.Field.TITLE, task.getTitle(), patch.getTitle(), task::setTitle);
+        change(changes, TaskChange.Field.DESCRIPTION, task.getDescription(), patch.getDescription(), task::setDescription);
+        // Stored with microsecond precision; compare at that precision so resending a value is no change
+        change(changes, TaskChange.Field.DUE_DATE, task.getDueDate(),
+                patch.getDueDate() != null ? patch.getDueDate().map(d -> d.truncatedTo(ChronoUnit.MICROS)) : null, task::setDueDate);
+        return changes;
+    }
+
+    private static <T> void change(List<TaskChange> changes, TaskChange.Field field, T current, Optional<T> requested, Consumer<T> setter) {
+        if (requested == null) {
+            return;
+        }
+        T value = requested.orElse(null);
+        if (!Objects.equals(current, value)) {
+            setter.accept(value);
+            changes.add(new TaskChange(field, current, value));
+        }
+    }
+
+    // Nothing changed: no UPDATE, no version bump, no activity and no event
+    private Task save(Task task, List<TaskChange> changes) {
+        if (changes.isEmpty()) {
+            return task;
+        }
+        task.setUpdatedAt(LocalDateTime.now());
+        Task saved = repository.save(task);
+        activityLogService.logTaskChanges(saved, changes, "System");
+        publish(ChangeEventDto.Action.UPDATED, saved);
+        return saved;
+    }
+
+    private void publish(ChangeEventDto.Action action, Task task) {
+        TaskDto dto = new TaskDto(task.getId(), task.getTitle(), task.getDescription(), task.getPriority(), task.getStatus(), task.getDueDate());
+        eventPublisher.publishEvent(ChangeEventDto.of(ChangeEventDto.Type.TASK, action, task.getId(), task.getId(), dto));
     }
 }
@@ -0,0 +1,45 @@
+-- One-time conversion of activity_logs into a table range-partitioned by month on "timestamp".
+-- Executed by ActivityLogPartitions in a single transaction, under an advisory lock, when activity_logs
+-- is not partitioned yet. It can also be run by hand (e.g. in a maintenance window) before deploying.
+-- Every month that already has rows gets its partition; later months are created ahead of time and
+-- old ones archived and dropped by ActivityArchiveService. The primary key has to include the
+-- partition key, so it becomes (id, timestamp).
+
+ALTER TABLE activity_logs RENAME TO activity_logs_unpartitioned;
+ALTER INDEX IF EXISTS idx_activity_logs_task_action_timestamp RENAME TO idx_activity_logs_unpartitioned_task_action_timestamp;
+ALTER INDEX IF EXISTS idx_activity_logs_timestamp_id RENAME TO idx_activity_logs_unpartitioned_timestamp_id;
+
+CREATE TABLE activity_logs (
+    id         uuid         NOT NULL,
+    task_id    uuid         NOT NULL REFERENCES tasks (id),
+    action     varchar(50)  NOT NULL,
+    old_value  varchar(255),
+    new_value  varchar(255),
+    author     varchar(100) NOT NULL,
+    timestamp  timestamp(6) NOT NULL,
+    CONSTRAINT pk_activity_logs PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE INDEX idx_activity_logs_task_action_timestamp ON activity_logs (task_id, action, timestamp);
+CREATE INDEX idx_activity_logs_timestamp_id ON activity_logs (timestamp, id);
+
+-- Catches rows outside every monthly partition instead of failing the insert
+CREATE TABLE activity_logs_default PARTITION OF activity_logs DEFAULT;
+
+DO $$
+DECLARE
+    month date;
+BEGIN
+    FOR month IN
+        SELECT DISTINCT date_trunc('month', timestamp)::date FROM activity_logs_unpartitioned WHERE timestamp IS NOT NULL
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF activity_logs FOR VALUES FROM (%L) TO (%L)',
+                       'activity_logs_p' || to_char(month, 'YYYYMM'), month, (month + interval '1 month')::date);
+    END LOOP;
+END $$;
+
+INSERT INTO activity_logs (id, task_id, action, old_value, new_value, author, timestamp)
+SELECT id, task_id, action, old_value, new_value, author, coalesce(timestamp, now())
+FROM activity_logs_unpartitioned;
+
+DROP TABLE activity_logs_unpartitioned;
@@ -0,0 +1,69 @@
+-- Brings an existing production schema up to the current entity mappings before Hibernate validates it
+-- (spring.sql.init in application-prod.yml). Every statement is idempotent, so it runs on each start.
+
+-- Optimistic locking (Task.version); existing rows start at version 0
+ALTER TABLE IF EXISTS tasks ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+
+-- Transactional outbox for activity entries (ActivityOutbox); deliberately no foreign key to tasks
+CREATE TABLE IF NOT EXISTS activity_outbox (
+    id          uuid         NOT NULL PRIMARY KEY,
+    task_id     uuid         NOT NULL,
+    action      varchar(50)  NOT NULL,
+    old_value   varchar(255),
+    new_value   varchar(255),
+    author      varchar(100) NOT NULL,
+    created_at  timestamp(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_activity_outbox_created_at ON activity_outbox (created_at);
+
+-- Compressed activity history past the retention window (ActivityArchive); read per task id
+CREATE TABLE IF NOT EXISTS activity_archive (
+    id           uuid         NOT NULL PRIMARY KEY,
+    task_id      uuid         NOT NULL,
+    period_start timestamp(6) NOT NULL,
+    period_end   timestamp(6) NOT NULL,
+    entry_count  integer      NOT NULL,
+    payload      bytea        NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_activity_archive_task_period ON activity_archive (task_id, period_start);
+
+-- Per-action totals of each archive row (ActivityArchive.actions), so summaries never decompress payloads
+CREATE TABLE IF NOT EXISTS activity_archive_actions (
+    archive_id    uuid         NOT NULL REFERENCES activity_archive (id),
+    action        varchar(50)  NOT NULL,
+    entry_count   integer      NOT NULL,
+    last_activity timestamp(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_activity_archive_actions_archive ON activity_archive_actions (archive_id);
+
+-- One counter row per (comment, emoji) (Reaction); concurrent first clicks collide here and are retried as updates.
+-- ReactionCounter writes with MERGE, which needs PostgreSQL 15 or later.
+-- The former read-modify-write path could insert duplicate keys, so first fold them into the oldest row. A single
+-- statement, so a failure cannot leave counts summed but duplicates kept; skipped once the index exists.
+WITH duplicates AS (
+    SELECT id, FIRST_VALUE(id) OVER per_key AS keeper, ROW_NUMBER() OVER per_key AS ordinal
+    FROM reactions
+    WHERE NOT EXISTS (SELECT 1 FROM pg_indexes WHERE indexname = 'uk_reactions_comment_emoji')
+    WINDOW per_key AS (PARTITION BY comment_id, emoji ORDER BY created_at, id)
+), removed AS (
+    DELETE FROM reactions r USING duplicates d
+    WHERE r.id = d.id AND d.ordinal > 1
+    RETURNING d.keeper, r.count
+)
+UPDATE reactions r SET count = COALESCE(r.count, 0) + merged.extra
+FROM (SELECT keeper, SUM(COALESCE(count, 0)) AS extra FROM removed GROUP BY keeper) merged
+WHERE r.id = merged.keeper;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_reactions_comment_emoji ON reactions (comment_id, emoji);
+
+-- Task listing and keyset pagination (Task); one (field, id) index per sort field plus the filtered default order
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at_id ON tasks (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_title_id ON tasks (title, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_priority_id ON tasks (priority, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_status_id ON tasks (status, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date_id ON tasks (due_date, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_status_created_at_id ON tasks (status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_priority_created_at_id ON tasks (priority, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_updated_at ON tasks (updated_at);
+DROP INDEX IF EXISTS idx_tasks_status_priority_created_at_id;
+DROP INDEX IF EXISTS idx_tasks_status_due_date_id;
+DROP INDEX IF EXISTS idx_tasks_updated_at_id;
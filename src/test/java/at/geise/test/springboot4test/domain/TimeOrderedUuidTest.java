@@ -0,0 +1,52 @@
+package at.geise.test.springboot4test.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedUuidTest {
+
+    @Test
+    void shouldGenerateVersion7Uuids() {
+        // When
+        UUID id = TimeOrderedUuid.next();
+
+        // Then
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEncodeCurrentMillisecondInLeadingBits() {
+        // Given
+        long before = System.currentTimeMillis();
+
+        // When
+        UUID id = TimeOrderedUuid.next();
+
+        // Then
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertThat(millis).isBetween(before, System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void shouldBeStrictlyIncreasingWithinSameMillisecond() {
+        // Given
+        List<UUID> ids = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(TimeOrderedUuid.next());
+        }
+
+        // Then
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(Long.compareUnsigned(ids.get(i).getMostSignificantBits(), ids.get(i - 1).getMostSignificantBits()))
+                    .isPositive();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package at.geise.test.springboot4test.integration;
+
+import at.geise.test.springboot4test.config.TestAiConfig;
+import at.geise.test.springboot4test.domain.ActivityArchive;
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.domain.TimeOrderedUuid;
+import at.geise.test.springboot4test.dto.ActivityLogDto;
+import at.geise.test.springboot4test.dto.ActivitySummaryDto;
+import at.geise.test.springboot4test.repository.ActivityArchiveRepository;
+import at.geise.test.springboot4test.repository.ActivityLogRepository;
+import at.geise.test.springboot4test.repository.ActivityOutboxRepository;
+import at.geise.test.springboot4test.repository.TaskRepository;
+import at.geise.test.springboot4test.service.ActivityArchiveService;
+import at.geise.test.springboot4test.service.ActivityLogService;
+import at.geise.test.springboot4test.service.RecentActivityBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestAiConfig.class)
+class ActivityArchiveIntegrationTest {
+
+    @Autowired
+    private ActivityArchiveService archiveService;
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Autowired
+    private ActivityArchiveRepository archiveRepository;
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private ActivityOutboxRepository activityOutboxRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private RecentActivityBuffer recentActivityBuffer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    private Task task;
+    private Task other;
+
+    @BeforeEach
+    void setUp() {
+        task = taskRepository.save(task("Archived history"));
+        other = taskRepository.save(task("Other"));
+        // Two old months for task, one for other, plus recent entries
+        insert(task, "STATUS_CHANGED", now.minusDays(200));
+        insert(task, "PRIORITY_CHANGED", now.minusDays(199));
+        insert(task, "STATUS_CHANGED", now.minusDays(150));
+        insert(other, "COMMENT_ADDED", now.minusDays(150));
+        insert(task, "TITLE_CHANGED", now.minusDays(2));
+        insert(task, "STATUS_CHANGED", now.minusDays(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        archiveRepository.deleteAll();
+        activityOutboxRepository.deleteAll();
+        activityLogRepository.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void shouldMoveEntriesPastCutoffIntoCompressedArchive() {
+        // When
+        long archived = archiveService.archiveOlderThan(now.minusDays(90));
+
+        // Then
+        assertThat(archived).isEqualTo(4);
+        assertThat(activityLogRepository.count()).isEqualTo(2);
+        assertThat(archiveService.countForTask(task.getId())).isEqualTo(3);
+        assertThat(archiveService.countForTask(other.getId())).isEqualTo(1);
+        assertThat(archiveRepository.findByTaskIdOrderByPeriodStartDescPeriodEndDescIdDesc(task.getId()))
+                .allSatisfy(row -> assertThat(row.getPeriodEnd()).isBefore(now.minusDays(89)));
+    }
+
+    @Test
+    void shouldKeepHistoryOrdered_whenOneMonthIsArchivedInSeveralRuns() {
+        // Given
+        LocalDateTime early = LocalDateTime.of(2020, 1, 10, 12, 0);
+        LocalDateTime late = LocalDateTime.of(2020, 1, 20, 12, 0);
+        Task archivedTwice = taskRepository.save(task("Archived twice"));
+        insert(archivedTwice, "STATUS_CHANGED", late);
+        insert(archivedTwice, "PRIORITY_CHANGED", early);
+
+        // When
+        archiveService.archiveOlderThan(LocalDateTime.of(2020, 1, 15, 0, 0));
+        archiveService.archiveOlderThan(LocalDateTime.of(2020, 2, 1, 0, 0));
+
+        // Then
+        assertThat(archiveRepository.findByTaskIdOrderByPeriodStartDescPeriodEndDescIdDesc(archivedTwice.getId()))
+                .extracting(ActivityArchive::getPeriodStart).containsExactly(late, early);
+        assertThat(archiveService.entriesForTask(archivedTwice.getId())).extracting(ActivityLogDto::timestamp)
+                .containsExactly(late, early);
+    }
+
+    @Test
+    void shouldServeArchivedHistoryThroughActivityLogService() {
+        // Given
+        archiveService.archiveOlderThan(now.minusDays(90));
+
+        // When
+        List<ActivityLogDto> activity = activityLogService.getActivityForTask(task.getId());
+
+        // Then - live entries first, archived ones after, newest first throughout
+        assertThat(activity).extracting(ActivityLogDto::timestamp).containsExactly(
+                now.minusDays(1), now.minusDays(2), now.minusDays(150), now.minusDays(199), now.minusDays(200));
+        assertThat(activity).extracting(ActivityLogDto::taskId).containsOnly(task.getId());
+        assertThat(activityLogService.getActivityCountForTask(task.getId())).isEqualTo(5);
+    }
+
+    @Test
+    void shouldPageAcrossLiveAndArchivedEntries() {
+        // Given
+        archiveService.archiveOlderThan(now.minusDays(90));
+
+        // When
+        Page<ActivityLogDto> first = activityLogService.getActivityForTask(task.getId(), 0, 2);
+        Page<ActivityLogDto> second = activityLogService.getActivityForTask(task.getId(), 1, 2);
+        Page<ActivityLogDto> third = activityLogService.getActivityForTask(task.getId(), 2, 2);
+
+        // Then
+        assertThat(first.getTotalElements()).isEqualTo(5);
+        assertThat(first.getContent()).extracting(ActivityLogDto::timestamp).containsExactly(now.minusDays(1), now.minusDays(2));
+        assertThat(second.getContent()).extracting(ActivityLogDto::timestamp).containsExactly(now.minusDays(150), now.minusDays(199));
+        assertThat(third.getContent()).extracting(ActivityLogDto::timestamp).containsExactly(now.minusDays(200));
+    }
+
+    @Test
+    void shouldPageWithinArchive_skippingWholeRows() {
+        // Given - task has one archive row per old month
+        archiveService.archiveOlderThan(now.minusDays(90));
+
+        // When
+        List<ActivityLogDto> oldest = archiveService.entriesForTask(task.getId(), 2, 5);
+        List<ActivityLogDto> middle = archiveService.entriesForTask(task.getId(), 1, 1);
+
+        // Then
+        assertThat(oldest).extracting(ActivityLogDto::timestamp).containsExactly(now.minusDays(200));
+        assertThat(middle).extracting(ActivityLogDto::timestamp).containsExactly(now.minusDays(199));
+    }
+
+    @Test
+    void shouldIncludeArchivedEntriesInSummary() {
+        // Given
+        archiveService.archiveOlderThan(now.minusDays(90));
+
+        // When
+        List<ActivitySummaryDto> summary = activityLogService.getActivitySummary(task.getId());
+
+        // Then
+        assertThat(summary).containsExactly(
+                new ActivitySummaryDto("PRIORITY_CHANGED", 1, now.minusDays(199)),
+                new ActivitySummaryDto("STATUS_CHANGED", 3, now.minusDays(1)),
+                new ActivitySummaryDto("TITLE_CHANGED", 1, now.minusDays(2)));
+    }
+
+    @Test
+    void shouldDropArchivedEntriesFromRecentActivityBuffer() {
+        // Given
+        recentActivityBuffer.reload();
+        assertThat(activityLogService.getActivityFeed(null, 10).items()).hasSize(6);
+
+        // When
+        archiveService.archiveOlderThan(now.minusDays(90));
+
+        // Then
+        assertThat(activityLogService.getActivityFeed(null, 10).items()).extracting(ActivityLogDto::timestamp)
+                .containsExactly(now.minusDays(1), now.minusDays(2));
+    }
+
+    private void insert(Task owner, String action, LocalDateTime timestamp) {
+        jdbcTemplate.update("INSERT INTO activity_logs (id, task_id, action, old_value, new_value, author, timestamp) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                TimeOrderedUuid.next(), owner.getId(), action, "OLD", "NEW", "Tester", timestamp);
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setPriority(Task.Priority.MEDIUM);
+        task.setStatus(Task.Status.TODO);
+        return task;
+    }
+}
@@ -0,0 +1,276 @@
+package at.geise.test.springboot4test.integration;
+
+import at.geise.test.springboot4test.config.TestAiConfig;
+import at.geise.test.springboot4test.domain.ActivityLog;
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.ActivityLogDto;
+import at.geise.test.springboot4test.dto.ActivitySummaryDto;
+import at.geise.test.springboot4test.dto.ChangeEventDto;
+import at.geise.test.springboot4test.dto.CursorPage;
+import at.geise.test.springboot4test.dto.TaskDto;
+import at.geise.test.springboot4test.repository.ActivityLogRepository;
+import at.geise.test.springboot4test.repository.ActivityOutboxRepository;
+import at.geise.test.springboot4test.repository.TaskRepository;
+import at.geise.test.springboot4test.service.ActivityLogService;
+import at.geise.test.springboot4test.service.ActivityLogWriter;
+import at.geise.test.springboot4test.service.ActivityOutboxRelay;
+import at.geise.test.springboot4test.service.RecentActivityBuffer;
+import at.geise.test.springboot4test.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestAiConfig.class)
+@RecordApplicationEvents
+class ActivityLogWriterIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Autowired
+    private RecentActivityBuffer recentActivityBuffer;
+
+    @Autowired
+    private ActivityOutboxRepository activityOutboxRepository;
+
+    @Autowired
+    private ActivityOutboxRelay activityOutboxRelay;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @AfterEach
+    void tearDown() {
+        activityOutboxRepository.deleteAll();
+        activityLogRepository.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void shouldWriteOneRowPerChangedFieldAfterCommit() {
+        // Given
+        Task task = taskService.create(new TaskDto(null, "Original", "Desc", Task.Priority.LOW, Task.Status.TODO, null));
+
+        // When
+        taskService.update(task.getId(), new TaskDto(task.getId(), "Renamed", "New desc", Task.Priority.HIGH,
+                Task.Status.IN_PROGRESS, LocalDateTime.now().plusDays(3)));
+
+        // Then
+        List<ActivityLog> logs = awaitActivity(task, 5);
+        assertThat(logs).extracting(ActivityLog::getAction).filteredOn(action -> !action.equals("CREATED")).containsExactlyInAnyOrder(
+                "STATUS_CHANGED", "PRIORITY_CHANGED", "TITLE_CHANGED", "DESCRIPTION_CHANGED", "DUE_DATE_CHANGED");
+    }
+
+    @Test
+    void shouldNotWriteActivity_whenTransactionRollsBack() {
+        // Given
+        Task task = taskService.create(new TaskDto(null, "Original", "Desc", Task.Priority.LOW, Task.Status.TODO, null));
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            taskService.update(task.getId(), new TaskDto(task.getId(), "Renamed", "Desc", Task.Priority.LOW, Task.Status.TODO, null));
+            status.setRollbackOnly();
+        });
+        activityLogWriter.flush();
+
+        // Then
+        assertThat(activityLogRepository.findByTaskIdOrderByTimestampDesc(task.getId())).isEmpty();
+    }
+
+    @Test
+    void shouldRelayCreationEntryFromOutbox() {
+        // Given
+        Task task = taskService.create(new TaskDto(null, "Outboxed", "Desc", Task.Priority.LOW, Task.Status.TODO, null));
+        assertThat(activityOutboxRepository.count()).isEqualTo(1);
+
+        // When
+        int relayed = activityOutboxRelay.relay();
+
+        // Then
+        assertThat(relayed).isEqualTo(1);
+        assertThat(activityOutboxRepository.count()).isZero();
+        assertThat(activityLogRepository.findByTaskIdOrderByTimestampDesc(task.getId()))
+                .extracting(ActivityLog::getAction).containsExactly("CREATED");
+    }
+
+    @Test
+    void shouldDropOutboxEntry_whenTaskWasDeletedBeforeRelay() {
+        // Given
+        Task task = taskService.create(new TaskDto(null, "Short-lived", "Desc", Task.Priority.LOW, Task.Status.TODO, null));
+        taskRepository.deleteById(task.getId());
+
+        // When
+        activityOutboxRelay.relay();
+
+        // Then
+        assertThat(activityOutboxRepository.count()).isZero();
+        assertThat(activityLogRepository.findByTaskIdOrderByTimestampDesc(task.getId())).isEmpty();
+        assertThat(applicationEvents.stream(ChangeEventDto.class))
+                .noneMatch(event -> event.type() == ChangeEventDto.Type.ACTIVITY && event.taskId().equals(task.getId()));
+    }
+
+    @Test
+    void shouldSkipOutboxRowsClaimedByAnotherRelay() throws Exception {
+        // Given - another instance holds the row lock in an open transaction
+        Task task = taskService.create(new TaskDto(null, "Claimed", "Desc", Task.Priority.LOW, Task.Status.TODO, null));
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> otherRelay = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("SELECT id FROM activity_outbox FOR UPDATE");
+            claimed.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(claimed.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        int relayed;
+        try {
+            relayed = activityOutboxRelay.relay();
+        } finally {
+            release.countDown();
+            otherRelay.get(10, TimeUnit.SECONDS);
+        }
+
+        // Then
+        assertThat(relayed).isZero();
+        assertThat(activityOutboxRepository.count()).isEqualTo(1);
+        assertThat(activityLogRepository.findByTaskIdOrderByTimestampDesc(task.getId())).isEmpty();
+    }
+
+    @Test
+    void shouldSummarizeActivityPerActionInDatabase() {
+        // Given
+        Task task = taskService.create(new TaskDto(null, "Original", "Desc", Task.Priority.LOW, Task.Status.TODO, null));
+        taskService.update(task.getId(), new TaskDto(task.getId(), "Original", "Desc", Task.Priority.LOW, Task.Status.IN_PROGRESS, null));
+        taskService.update(task.getId(), new TaskDto(task.getId(), "Original", "Desc", Task.Priority.HIGH, Task.Status.DONE, null));
+        activityOutboxRelay.relay();
+        List<ActivityLog> logs = awaitActivity(task, 4);
+
+        // When
+        List<ActivitySummaryDto> summary = activityLogService.getActivitySummary(task.getId());
+
+        // Then
+        assertThat(summary).extracting(ActivitySummaryDto::action, ActivitySummaryDto::count).containsExactly(
+                tuple("CREATED", 1L), tuple("PRIORITY_CHANGED", 1L), tuple("STATUS_CHANGED", 2L));
+        LocalDateTime latestStatusChange = logs.stream().filter(log -> log.getAction().equals("STATUS_CHANGED"))
+                .map(ActivityLog::getTimestamp).max(LocalDateTime::compareTo).orElseThrow();
+        assertThat(summary.get(2).lastActivity()).isEqualTo(latestStatusChange);
+    }
+
+    @Test
+    void shouldServeFeedNewestFirstFromBufferThenByCursor() {
+        // Given
+        recentActivityBuffer.reload();
+        Task task = taskService.create(new TaskDto(null, "Feed", "Desc", Task.Priority.LOW, Task.Status.TODO, null));
+        taskService.update(task.getId(), new TaskDto(task.getId(), "Feed", "Desc", Task.Priority.MEDIUM, Task.Status.IN_PROGRESS, null));
+        taskService.update(task.getId(), new TaskDto(task.getId(), "Feed 2", "Desc", Task.Priority.HIGH, Task.Status.DONE, null));
+        activityOutboxRelay.relay();
+        awaitActivity(task, 6);
+        List<UUID> expected = activityLogRepository.findLatest(PageRequest.of(0, 100)).stream().map(ActivityLogDto::id).toList();
+
+        // When
+        List<ActivityLogDto> seen = new ArrayList<>();
+        CursorPage<ActivityLogDto> page = activityLogService.getActivityFeed(null, 4);
+        seen.addAll(page.items());
+        while (page.hasNext()) {
+            page = activityLogService.getActivityFeed(page.nextCursor(), 4);
+            seen.addAll(page.items());
+        }
+
+        // Then
+        assertThat(seen).extracting(ActivityLogDto::id).containsExactlyElementsOf(expected);
+        assertThat(activityLogService.getRecentActivity(3)).extracting(ActivityLogDto::id).containsExactlyElementsOf(expected.subList(0, 3));
+    }
+
+    // Entries written on the committing thread must get their own transaction, not join the finished one
+    @Nested
+    @TestPropertySource(properties = {"activity.writer.queue-capacity=1", "activity.writer.offer-timeout=0ms"})
+    class WhenQueueIsFull {
+
+        @Test
+        void shouldWriteOverflowingEntriesOnCallerThread() {
+            // Given
+            Task task = taskService.create(new TaskDto(null, "Original", "Desc", Task.Priority.LOW, Task.Status.TODO, null));
+
+            // When - five entries against a one-slot queue
+            taskService.update(task.getId(), new TaskDto(task.getId(), "Renamed", "New desc", Task.Priority.HIGH,
+                    Task.Status.IN_PROGRESS, LocalDateTime.now().plusDays(3)));
+
+            // Then
+            assertThat(awaitActivity(task, 5)).hasSize(5);
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "activity.writer.enabled=false")
+    class WhenWriterIsDisabled {
+
+        @Test
+        void shouldWriteEntriesSynchronouslyAfterCommit() {
+            // Given
+            Task task = taskService.create(new TaskDto(null, "Original", "Desc", Task.Priority.LOW, Task.Status.TODO, null));
+
+            // When
+            taskService.update(task.getId(), new TaskDto(task.getId(), "Renamed", "Desc", Task.Priority.HIGH, Task.Status.TODO, null));
+
+            // Then - no worker and no flush: the rows are there once update returns
+            assertThat(activityLogRepository.findByTaskIdOrderByTimestampDesc(task.getId()))
+                    .extracting(ActivityLog::getAction).containsExactlyInAnyOrder("TITLE_CHANGED", "PRIORITY_CHANGED");
+        }
+    }
+
+    private List<ActivityLog> awaitActivity(Task task, int expected) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        List<ActivityLog> logs = activityLogRepository.findByTaskIdOrderByTimestampDesc(task.getId());
+        while (logs.size() < expected && System.currentTimeMillis() < deadline) {
+            activityLogWriter.flush();
+            logs = activityLogRepository.findByTaskIdOrderByTimestampDesc(task.getId());
+        }
+        return logs;
+    }
+}
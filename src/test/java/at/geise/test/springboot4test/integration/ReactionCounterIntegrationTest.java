@@ -0,0 +1,143 @@
+package at.geise.test.springboot4test.integration;
+
+import at.geise.test.springboot4test.config.TestAiConfig;
+import at.geise.test.springboot4test.domain.Comment;
+import at.geise.test.springboot4test.domain.Reaction;
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.repository.CommentRepository;
+import at.geise.test.springboot4test.repository.ReactionRepository;
+import at.geise.test.springboot4test.repository.TaskRepository;
+import at.geise.test.springboot4test.service.CommentService;
+import at.geise.test.springboot4test.service.ReactionCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestAiConfig.class)
+class ReactionCounterIntegrationTest {
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ReactionCounter reactionCounter;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ReactionRepository reactionRepository;
+
+    private Comment comment;
+
+    @BeforeEach
+    void setUp() {
+        Task task = new Task();
+        task.setTitle("Popular task");
+        task = taskRepository.save(task);
+        comment = commentRepository.save(new Comment(task, "Ship it", "User"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactionCounter.flush();
+        reactionRepository.deleteAll();
+        commentRepository.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void shouldNotLoseConcurrentIncrements() throws Exception {
+        // Given
+        int threads = 8;
+        int clicksPerThread = 250;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < clicksPerThread; i++) {
+                    commentService.addReaction(comment.getId(), "👍");
+                    if (i % 50 == 0) {
+                        reactionCounter.flush();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        reactionCounter.flush();
+
+        // Then
+        List<Reaction> reactions = reactionRepository.findAll();
+        assertThat(reactions).hasSize(1);
+        assertThat(reactions.get(0).getEmoji()).isEqualTo("👍");
+        assertThat(reactions.get(0).getCount()).isEqualTo(threads * clicksPerThread);
+        assertThat(reactionCounter.pendingCount(comment.getId(), "👍")).isZero();
+    }
+
+    @Test
+    void shouldCoalesceClicksUntilFlush() {
+        // Given
+        commentService.addReaction(comment.getId(), "🎉");
+        commentService.addReaction(comment.getId(), "🎉");
+        assertThat(reactionRepository.findAll()).isEmpty();
+        assertThat(reactionCounter.pendingCount(comment.getId(), "🎉")).isEqualTo(2);
+
+        // When
+        int rows = reactionCounter.flush();
+
+        // Then
+        assertThat(rows).isEqualTo(1);
+        assertThat(reactionRepository.findAll()).singleElement()
+                .satisfies(reaction -> assertThat(reaction.getCount()).isEqualTo(2));
+    }
+
+    @Test
+    void shouldDropPendingClicks_whenCommentWasDeleted() {
+        // Given
+        commentService.addReaction(comment.getId(), "❤️");
+        commentRepository.deleteById(comment.getId());
+
+        // When
+        int rows = reactionCounter.flush();
+
+        // Then
+        assertThat(rows).isEqualTo(1);
+        assertThat(reactionRepository.findAll()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectReaction_whenCommentDoesNotExist() {
+        assertThatThrownBy(() -> commentService.addReaction(UUID.randomUUID(), "👍"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Comment not found");
+    }
+}
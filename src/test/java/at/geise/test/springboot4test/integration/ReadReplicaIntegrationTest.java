@@ -0,0 +1,160 @@
+package at.geise.test.springboot4test.integration;
+
+import at.geise.test.springboot4test.config.ReplicaLagMonitor;
+import at.geise.test.springboot4test.config.ReplicaRoutingDataSource;
+import at.geise.test.springboot4test.config.TestAiConfig;
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.TaskDto;
+import at.geise.test.springboot4test.repository.ActivityLogRepository;
+import at.geise.test.springboot4test.repository.ActivityOutboxRepository;
+import at.geise.test.springboot4test.repository.TaskRepository;
+import at.geise.test.springboot4test.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Primary and replica are two H2 databases; the replica is a snapshot of the primary taken in
+ * {@link #setUp()}, so anything written afterwards is only visible on the primary. Tests run outside a
+ * web request unless they bind one.
+ */
+@SpringBootTest(properties = {
+        "datasource.replica.urls=" + ReadReplicaIntegrationTest.REPLICA_URL,
+        "datasource.replica.max-lag=30s",
+        "datasource.replica.check-interval=1h"
+})
+@ActiveProfiles("test")
+@Import(TestAiConfig.class)
+class ReadReplicaIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private ActivityOutboxRepository activityOutboxRepository;
+
+    @Autowired
+    private ReplicaLagMonitor lagMonitor;
+
+    @Autowired
+    private ReplicaRoutingDataSource routing;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new SimpleDriverDataSource(new org.h2.Driver(), REPLICA_URL, "sa", ""));
+
+    private Task replicated;
+
+    @BeforeEach
+    void setUp() {
+        // The test framework binds a mock request per test, which would pin reads after writes to the primary
+        RequestContextHolder.resetRequestAttributes();
+        replicated = taskService.create(new TaskDto(null, "Replicated", null, Task.Priority.LOW, Task.Status.TODO, null));
+        lagMonitor.check();
+        replica.execute("DROP ALL OBJECTS");
+        jdbcTemplate.queryForList("SCRIPT", String.class).forEach(replica::execute);
+        lagMonitor.check();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        replica.execute("DROP ALL OBJECTS");
+        activityOutboxRepository.deleteAll();
+        activityLogRepository.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void shouldServeReadOnlyTransactionsFromReplica() {
+        // Given
+        Task primaryOnly = createTask("Primary only");
+
+        // When
+        List<UUID> read = listedIds();
+        Long onPrimary = transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE title = ?", Long.class, "Primary only"));
+
+        // Then
+        assertThat(routing.replicas()).allSatisfy(r -> assertThat(r.isAvailable()).isTrue());
+        assertThat(read).contains(replicated.getId()).doesNotContain(primaryOnly.getId());
+        assertThat(onPrimary).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFallBackToPrimary_whenReplicaLagsBehind() {
+        // Given
+        Task primaryOnly = createTask("Primary only");
+        replica.update("UPDATE replica_heartbeat SET beat_at = ?", LocalDateTime.now().minusMinutes(5));
+
+        // When
+        lagMonitor.check();
+        List<UUID> read = listedIds();
+
+        // Then
+        assertThat(routing.replicas()).allSatisfy(r -> assertThat(r.isAvailable()).isFalse());
+        assertThat(read).contains(replicated.getId(), primaryOnly.getId());
+    }
+
+    @Test
+    void shouldFallBackToPrimary_whenReplicaIsUnreachable() {
+        // Given
+        Task primaryOnly = createTask("Primary only");
+        replica.execute("DROP TABLE replica_heartbeat");
+
+        // When
+        lagMonitor.check();
+
+        // Then
+        assertThat(routing.replicas()).allSatisfy(r -> assertThat(r.lag()).isNull());
+        assertThat(listedIds()).contains(primaryOnly.getId());
+    }
+
+    @Test
+    void shouldReadOwnWritesWithinRequest() {
+        // Given
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        // When
+        Task created = createTask("Created in this request");
+
+        // Then
+        assertThat(listedIds()).contains(created.getId());
+    }
+
+    private Task createTask(String title) {
+        return taskService.create(new TaskDto(null, title, null, Task.Priority.HIGH, Task.Status.TODO, null));
+    }
+
+    private List<UUID> listedIds() {
+        return taskService.list(0, 100, null, null, "createdAt", "DESC").map(Task::getId).getContent();
+    }
+}
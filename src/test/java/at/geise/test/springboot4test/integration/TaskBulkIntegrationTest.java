@@ -0,0 +1,168 @@
+package at.geise.test.springboot4test.integration;
+
+import at.geise.test.springboot4test.config.TestAiConfig;
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.TaskImportResult;
+import at.geise.test.springboot4test.repository.TaskRepository;
+import at.geise.test.springboot4test.service.TaskBulkService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestAiConfig.class)
+class TaskBulkIntegrationTest {
+
+    @Autowired
+    private TaskBulkService bulkService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void shouldImportValidNdjsonRowsAndReportInvalidOnes() {
+        // Given
+        String body = IntStream.range(0, 250)
+                .mapToObj(i -> "{\"title\":\"Imported " + i + "\",\"priority\":\"HIGH\",\"status\":\"TODO\"}")
+                .collect(Collectors.joining("\n"))
+                + "\n{\"title\":\"\",\"priority\":\"LOW\",\"status\":\"TODO\"}"
+                + "\n{not json}\n";
+
+        // When
+        TaskImportResult result = bulkService.importNdjson(stream(body));
+
+        // Then
+        assertThat(result.imported()).isEqualTo(250);
+        assertThat(result.rejected()).isEqualTo(2);
+        assertThat(result.errors()).extracting(TaskImportResult.RowError::line).containsExactly(251L, 252L);
+        assertThat(result.errors().get(0).message()).startsWith("title:");
+        assertThat(taskRepository.count()).isEqualTo(250);
+        assertThat(taskRepository.findAll()).allSatisfy(task -> {
+            assertThat(task.getPriority()).isEqualTo(Task.Priority.HIGH);
+            assertThat(task.getCreatedAt()).isNotNull();
+        });
+    }
+
+    @Test
+    void shouldImportCsvWithQuotedFields() {
+        // Given
+        String body = "title,description,priority,status,dueDate\n"
+                + "\"Plan, then ship\",\"Line one\nline two with \"\"quotes\"\"\",medium,in_progress,\n"
+                + "Broken,,URGENT,TODO,\n";
+
+        // When
+        TaskImportResult result = bulkService.importCsv(stream(body));
+
+        // Then
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).singleElement().satisfies(error -> {
+            assertThat(error.line()).isEqualTo(4);
+            assertThat(error.message()).contains("priority");
+        });
+        Task task = taskRepository.findAll().get(0);
+        assertThat(task.getTitle()).isEqualTo("Plan, then ship");
+        assertThat(task.getDescription()).isEqualTo("Line one\nline two with \"quotes\"");
+        assertThat(task.getStatus()).isEqualTo(Task.Status.IN_PROGRESS);
+    }
+
+    @Test
+    void shouldExportEveryTaskAsNdjsonAndCsv() {
+        // Given
+        bulkService.importCsv(stream("title,priority,status\n" + IntStream.range(0, 30)
+                .mapToObj(i -> "\"Task, " + i + "\",LOW,DONE")
+                .collect(Collectors.joining("\n"))));
+
+        // When
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        bulkService.exportNdjson(ndjson);
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        bulkService.exportCsv(csv);
+
+        // Then
+        List<String> jsonLines = ndjson.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(jsonLines).hasSize(30).allSatisfy(line -> assertThat(line).contains("\"status\":\"DONE\""));
+        List<String> csvLines = csv.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(csvLines).hasSize(31);
+        assertThat(csvLines.get(0)).isEqualTo("id,title,description,priority,status,dueDate,createdAt,updatedAt");
+
+        // Round trip: the export is a valid import of the same tasks
+        List<UUID> ids = taskRepository.findAll().stream().map(Task::getId).toList();
+        taskRepository.deleteAll();
+        assertThat(bulkService.importCsv(stream(csv.toString(StandardCharsets.UTF_8))).imported()).isEqualTo(30);
+        assertThat(taskRepository.findAll()).extracting(Task::getId).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @Test
+    void shouldRoundTripOverdueTasks_keepingIdAndTimestamps() {
+        // Given
+        LocalDateTime overdue = LocalDateTime.now().minusDays(30).truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime created = LocalDateTime.now().minusDays(60).truncatedTo(ChronoUnit.MICROS);
+        UUID id = UUID.randomUUID();
+        TaskImportResult seeded = bulkService.importNdjson(stream("{\"id\":\"" + id + "\",\"title\":\"Overdue\",\"priority\":\"HIGH\","
+                + "\"status\":\"IN_PROGRESS\",\"dueDate\":\"" + overdue + "\",\"createdAt\":\"" + created + "\"}"));
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        bulkService.exportNdjson(ndjson);
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        bulkService.exportCsv(csv);
+
+        // When
+        taskRepository.deleteAll();
+        TaskImportResult fromNdjson = bulkService.importNdjson(stream(ndjson.toString(StandardCharsets.UTF_8)));
+        taskRepository.deleteAll();
+        TaskImportResult fromCsv = bulkService.importCsv(stream(csv.toString(StandardCharsets.UTF_8)));
+
+        // Then
+        assertThat(seeded.imported()).isEqualTo(1);
+        assertThat(fromNdjson.imported()).isEqualTo(1);
+        assertThat(fromCsv.imported()).isEqualTo(1);
+        Task task = taskRepository.findById(id).orElseThrow();
+        assertThat(task.getDueDate()).isEqualTo(overdue);
+        assertThat(task.getCreatedAt()).isEqualTo(created);
+    }
+
+    @Test
+    void shouldRejectRowsWhoseIdAlreadyExists_andImportTheRest() {
+        // Given
+        UUID id = UUID.randomUUID();
+        bulkService.importNdjson(stream("{\"id\":\"" + id + "\",\"title\":\"Original\",\"priority\":\"LOW\",\"status\":\"TODO\"}"));
+
+        // When
+        TaskImportResult result = bulkService.importNdjson(stream(
+                "{\"title\":\"New\",\"priority\":\"LOW\",\"status\":\"TODO\"}\n"
+                        + "{\"id\":\"" + id + "\",\"title\":\"Duplicate\",\"priority\":\"LOW\",\"status\":\"TODO\"}"));
+
+        // Then
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).singleElement().satisfies(error -> {
+            assertThat(error.line()).isEqualTo(2);
+            assertThat(error.message()).contains("already exists");
+        });
+        assertThat(taskRepository.findById(id).orElseThrow().getTitle()).isEqualTo("Original");
+        assertThat(taskRepository.count()).isEqualTo(2);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,124 @@
+package at.geise.test.springboot4test.integration;
+
+import at.geise.test.springboot4test.config.TestAiConfig;
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.TaskDto;
+import at.geise.test.springboot4test.repository.ActivityLogRepository;
+import at.geise.test.springboot4test.repository.ActivityOutboxRepository;
+import at.geise.test.springboot4test.repository.TaskRepository;
+import at.geise.test.springboot4test.service.ActivityLogWriter;
+import at.geise.test.springboot4test.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestAiConfig.class)
+class TaskCacheIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private ActivityOutboxRepository activityOutboxRepository;
+
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        activityOutboxRepository.deleteAll();
+        activityLogRepository.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void shouldServeRepeatedGetFromSecondLevelCache() {
+        // Given
+        Task task = taskService.create(dto("Cached task"));
+        statistics.clear();
+
+        // When
+        taskService.get(task.getId());
+        taskService.get(task.getId());
+
+        // Then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(Task.CACHE_REGION).getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldServeUpdatedValue_afterUpdateThroughService() {
+        // Given
+        Task task = taskService.create(dto("Before"));
+        taskService.get(task.getId());
+
+        // When
+        taskService.update(task.getId(), dto("After"));
+        awaitActivity(task);
+
+        // Then
+        statistics.clear();
+        assertThat(taskService.get(task.getId()).getTitle()).isEqualTo("After");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void shouldEvictEntry_whenTaskIsDeleted() {
+        // Given
+        Task task = taskService.create(dto("Short-lived"));
+        taskService.get(task.getId());
+
+        // When
+        taskService.delete(task.getId());
+        statistics.clear();
+
+        // Then - the read-write region keeps a lock entry that is never served as a hit
+        assertThatThrownBy(() -> taskService.get(task.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(statistics.getDomainDataRegionStatistics(Task.CACHE_REGION).getMissCount()).isPositive();
+    }
+
+    // The title change is logged asynchronously; wait so cleanup does not race the writer
+    private void awaitActivity(Task task) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (activityLogRepository.findByTaskIdOrderByTimestampDesc(task.getId()).isEmpty()
+                && System.currentTimeMillis() < deadline) {
+            activityLogWriter.flush();
+        }
+    }
+
+    private static TaskDto dto(String title) {
+        return new TaskDto(null, title, "Description", Task.Priority.MEDIUM, Task.Status.TODO, null);
+    }
+}
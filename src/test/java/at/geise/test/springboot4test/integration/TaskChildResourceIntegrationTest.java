@@ -0,0 +1,145 @@
+package at.geise.test.springboot4test.integration;
+
+import at.geise.test.springboot4test.config.TestAiConfig;
+import at.geise.test.springboot4test.domain.ActivityLog;
+import at.geise.test.springboot4test.domain.Comment;
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.ActivityLogDto;
+import at.geise.test.springboot4test.dto.CommentDto;
+import at.geise.test.springboot4test.repository.ActivityLogRepository;
+import at.geise.test.springboot4test.repository.CommentRepository;
+import at.geise.test.springboot4test.repository.TaskRepository;
+import at.geise.test.springboot4test.service.ActivityLogService;
+import at.geise.test.springboot4test.service.CommentService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestAiConfig.class)
+@Transactional
+class TaskChildResourceIntegrationTest {
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ActivityLogService activityLogService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Task busy;
+    private Task idle;
+
+    @BeforeEach
+    void setUp() {
+        busy = new Task();
+        busy.setTitle("Busy task");
+        busy = taskRepository.save(busy);
+        idle = new Task();
+        idle.setTitle("Idle task");
+        idle = taskRepository.save(idle);
+        for (int i = 0; i < 3; i++) {
+            commentRepository.save(new Comment(busy, "Comment " + i, "User"));
+            activityLogRepository.save(new ActivityLog(busy, "COMMENTED", null, "Comment " + i, "User"));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void shouldListChildrenWithoutLoadingTheTask() {
+        // When
+        List<CommentDto> comments = commentService.getCommentsForTask(busy.getId());
+        List<ActivityLogDto> activity = activityLogService.getActivityForTask(busy.getId());
+
+        // Then
+        assertThat(comments).hasSize(3).allSatisfy(c -> assertThat(c.taskId()).isEqualTo(busy.getId()));
+        assertThat(activity).hasSize(3);
+        // Comments, live activity and the archive lookup
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void shouldCountWithOneStatementEach_includingTasksWithoutChildren() {
+        // When
+        long busyComments = commentService.getCommentCountForTask(busy.getId());
+        long idleComments = commentService.getCommentCountForTask(idle.getId());
+        long idleActivity = activityLogService.getActivityCountForTask(idle.getId());
+
+        // Then
+        assertThat(busyComments).isEqualTo(3);
+        assertThat(idleComments).isZero();
+        assertThat(idleActivity).isZero();
+        // One per count, plus the archive count for the activity
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldReturnEmptyChildren_whenTaskExistsWithoutAny() {
+        // When / Then
+        assertThat(commentService.getCommentsForTask(idle.getId())).isEmpty();
+        assertThat(activityLogService.getActivityForTask(idle.getId(), 0, 10).getTotalElements()).isZero();
+        assertThat(activityLogService.getActivitySummary(idle.getId())).isEmpty();
+    }
+
+    @Test
+    void shouldRejectUnknownTask() {
+        // Given
+        UUID unknown = UUID.randomUUID();
+
+        // When / Then
+        assertThatThrownBy(() -> commentService.getCommentsForTask(unknown))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Task not found");
+        assertThatThrownBy(() -> commentService.getCommentCountForTask(unknown))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Task not found");
+        assertThatThrownBy(() -> activityLogService.getActivityForTask(unknown))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Task not found");
+        assertThatThrownBy(() -> activityLogService.getActivityForTask(unknown, 0, 10))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Task not found");
+        assertThatThrownBy(() -> activityLogService.getActivityCountForTask(unknown))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Task not found");
+        assertThatThrownBy(() -> activityLogService.getActivitySummary(unknown))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Task not found");
+    }
+}
@@ -0,0 +1,80 @@
+package at.geise.test.springboot4test.integration;
+
+import at.geise.test.springboot4test.config.TestAiConfig;
+import at.geise.test.springboot4test.domain.ActivityLog;
+import at.geise.test.springboot4test.domain.Comment;
+import at.geise.test.springboot4test.domain.Reaction;
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.TaskDetailView;
+import at.geise.test.springboot4test.repository.ActivityLogRepository;
+import at.geise.test.springboot4test.repository.CommentRepository;
+import at.geise.test.springboot4test.repository.TaskRepository;
+import at.geise.test.springboot4test.service.TaskDetailService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestAiConfig.class)
+@Transactional
+class TaskDetailServiceIntegrationTest {
+
+    @Autowired
+    private TaskDetailService taskDetailService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void shouldLoadTaskWithCommentsReactionsAndActivityInConstantStatements() {
+        // Given
+        Task task = new Task();
+        task.setTitle("Busy task");
+        task = taskRepository.save(task);
+        for (int i = 0; i < 10; i++) {
+            Comment comment = new Comment(task, "Comment " + i, "User");
+            comment.getReactions().add(new Reaction(comment, "👍"));
+            comment.getReactions().add(new Reaction(comment, "🎉"));
+            commentRepository.save(comment);
+            activityLogRepository.save(new ActivityLog(task, "COMMENTED", null, "Comment " + i, "User"));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // When
+        TaskDetailView detail = taskDetailService.getDetail(task.getId());
+        int reactionCount = detail.comments().stream().mapToInt(c -> c.getReactions().size()).sum();
+
+        // Then
+        assertThat(detail.comments()).hasSize(10);
+        assertThat(reactionCount).isEqualTo(20);
+        assertThat(detail.activityLogs()).hasSize(10);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        statistics.setStatisticsEnabled(false);
+    }
+}
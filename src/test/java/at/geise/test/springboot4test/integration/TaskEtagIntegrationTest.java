@@ -0,0 +1,180 @@
+package at.geise.test.springboot4test.integration;
+
+import at.geise.test.springboot4test.config.TestAiConfig;
+import at.geise.test.springboot4test.domain.ActivityLog;
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.CreateCommentRequest;
+import at.geise.test.springboot4test.dto.TaskDto;
+import at.geise.test.springboot4test.repository.ActivityLogRepository;
+import at.geise.test.springboot4test.repository.ActivityOutboxRepository;
+import at.geise.test.springboot4test.repository.CommentRepository;
+import at.geise.test.springboot4test.repository.TaskRepository;
+import at.geise.test.springboot4test.service.ActivityLogWriter;
+import at.geise.test.springboot4test.service.CommentService;
+import at.geise.test.springboot4test.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestAiConfig.class)
+class TaskEtagIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private ActivityOutboxRepository activityOutboxRepository;
+
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mockMvc;
+    private Statistics statistics;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        task = taskService.create(new TaskDto(null, "Polled task", "Desc", Task.Priority.MEDIUM, Task.Status.TODO, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        activityLogWriter.flush();
+        activityOutboxRepository.deleteAll();
+        activityLogRepository.deleteAll();
+        commentRepository.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void shouldAnswerNotModifiedFromVersionLookup_withoutLoadingTheTask() throws Exception {
+        // Given
+        String etag = fetch("/api/tasks/" + task.getId(), null, 200);
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/tasks/" + task.getId()).header(HttpHeaders.IF_NONE_MATCH, etag)).andReturn();
+
+        // Then
+        assertThat(etag).startsWith("\"").endsWith("\"");
+        assertThat(result.getResponse().getStatus()).isEqualTo(304);
+        assertThat(result.getResponse().getContentAsString()).isEmpty();
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void shouldChangeTaskEtag_whenTaskIsUpdated() throws Exception {
+        // Given
+        String etag = fetch("/api/tasks/" + task.getId(), null, 200);
+
+        // When
+        taskService.update(task.getId(), new TaskDto(task.getId(), "Renamed", "Desc", Task.Priority.HIGH, Task.Status.TODO, null));
+
+        // Then
+        String updated = fetch("/api/tasks/" + task.getId(), etag, 200);
+        assertThat(updated).isNotEqualTo(etag);
+        fetch("/api/tasks/" + task.getId(), updated, 304);
+    }
+
+    @Test
+    void shouldTagListingsPerQuery_andChangeThemOnAnyTaskWrite() throws Exception {
+        // Given
+        String firstPage = fetch("/api/tasks?page=0&size=5", null, 200);
+        String otherSort = fetch("/api/tasks?page=0&size=5&sort=title", null, 200);
+        fetch("/api/tasks?page=0&size=5", firstPage, 304);
+
+        // When
+        taskService.create(new TaskDto(null, "Another", null, Task.Priority.LOW, Task.Status.TODO, null));
+
+        // Then
+        assertThat(otherSort).isNotEqualTo(firstPage);
+        assertThat(fetch("/api/tasks?page=0&size=5", firstPage, 200)).isNotEqualTo(firstPage);
+    }
+
+    @Test
+    void shouldChangeCommentsEtag_whenCommentIsAddedOrDeleted() throws Exception {
+        // Given
+        String path = "/api/tasks/" + task.getId() + "/comments";
+        String empty = fetch(path, null, 200);
+        fetch(path, empty, 304);
+
+        // When
+        var comment = commentService.addComment(task.getId(), new CreateCommentRequest("First", "User"));
+        String withComment = fetch(path, empty, 200);
+        commentService.deleteComment(comment.id());
+
+        // Then
+        assertThat(withComment).isNotEqualTo(empty);
+        assertThat(fetch(path, withComment, 200)).isNotEqualTo(withComment);
+    }
+
+    @Test
+    void shouldChangeActivityEtags_whenActivityIsRecorded() throws Exception {
+        // Given
+        activityLogWriter.flush();
+        String path = "/api/tasks/" + task.getId() + "/activity";
+        String full = fetch(path, null, 200);
+        String paged = fetch(path + "/paged?page=0&size=5", null, 200);
+        String summary = fetch(path + "/summary", null, 200);
+        fetch(path, full, 304);
+
+        // When
+        activityLogRepository.save(new ActivityLog(task, "STATUS_CHANGED", "TODO", "DONE", "User"));
+
+        // Then
+        assertThat(fetch(path, full, 200)).isNotEqualTo(full);
+        assertThat(fetch(path + "/paged?page=0&size=5", paged, 200)).isNotEqualTo(paged);
+        assertThat(fetch(path + "/summary", summary, 200)).isNotEqualTo(summary);
+    }
+
+    private String fetch(String path, String ifNoneMatch, int expectedStatus) throws Exception {
+        var request = get(path);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MvcResult result = mockMvc.perform(request).andReturn();
+        assertThat(result.getResponse().getStatus()).isEqualTo(expectedStatus);
+        return result.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
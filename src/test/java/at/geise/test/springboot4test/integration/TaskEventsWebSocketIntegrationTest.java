@@ -0,0 +1,188 @@
+package at.geise.test.springboot4test.integration;
+
+import at.geise.test.springboot4test.config.TestAiConfig;
+import at.geise.test.springboot4test.controller.TaskEventsWebSocketHandler;
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.CommentDto;
+import at.geise.test.springboot4test.dto.CreateCommentRequest;
+import at.geise.test.springboot4test.dto.TaskDto;
+import at.geise.test.springboot4test.repository.ActivityLogRepository;
+import at.geise.test.springboot4test.repository.ActivityOutboxRepository;
+import at.geise.test.springboot4test.repository.CommentRepository;
+import at.geise.test.springboot4test.repository.TaskRepository;
+import at.geise.test.springboot4test.service.ActivityLogWriter;
+import at.geise.test.springboot4test.service.CommentService;
+import at.geise.test.springboot4test.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Import(TestAiConfig.class)
+class TaskEventsWebSocketIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskEventsWebSocketHandler handler;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private ActivityOutboxRepository activityOutboxRepository;
+
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private WebSocketSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        int connected = handler.getSessionCount();
+        session = new StandardWebSocketClient().execute(new TextWebSocketHandler() {
+            @Override
+            protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+                received.add(message.getPayload());
+            }
+        }, "ws://localhost:" + port + "/ws/tasks").get(5, TimeUnit.SECONDS);
+        // The server registers the session after the handshake has been answered
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (handler.getSessionCount() <= connected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        session.close();
+        activityLogWriter.flush();
+        activityOutboxRepository.deleteAll();
+        activityLogRepository.deleteAll();
+        commentRepository.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void shouldBroadcastCommittedTaskChanges() throws Exception {
+        // When
+        Task task = taskService.create(taskDto("Broadcast me"));
+        taskService.update(task.getId(), new TaskDto(task.getId(), "Broadcast me", "Desc", Task.Priority.HIGH, Task.Status.DONE, null));
+
+        // Then
+        JsonNode created = nextEvent("TASK");
+        assertThat(created.path("action").asText()).isEqualTo("CREATED");
+        assertThat(created.path("id").asText()).isEqualTo(task.getId().toString());
+        assertThat(created.path("data").path("title").asText()).isEqualTo("Broadcast me");
+        JsonNode updated = nextEvent("TASK");
+        assertThat(updated.path("action").asText()).isEqualTo("UPDATED");
+        assertThat(updated.path("data").path("status").asText()).isEqualTo("DONE");
+        awaitActivity(task, 2);
+    }
+
+    @Test
+    void shouldNotBroadcastRolledBackTaskChanges() throws Exception {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> {
+            taskService.create(taskDto("Rolled back"));
+            status.setRollbackOnly();
+        });
+
+        // When
+        Task committed = taskService.create(taskDto("Committed"));
+
+        // Then - the first task event is the committed one
+        JsonNode event = nextEvent("TASK");
+        assertThat(event.path("id").asText()).isEqualTo(committed.getId().toString());
+        assertThat(taskRepository.findAll()).extracting(Task::getTitle).containsExactly("Committed");
+    }
+
+    @Test
+    void shouldBroadcastCommittedComments_andNotRolledBackOnes() throws Exception {
+        // Given
+        Task task = taskService.create(taskDto("Discussed"));
+        transactionTemplate.executeWithoutResult(status -> {
+            commentService.addComment(task.getId(), new CreateCommentRequest("Rolled back", "Tester"));
+            status.setRollbackOnly();
+        });
+
+        // When
+        CommentDto comment = commentService.addComment(task.getId(), new CreateCommentRequest("Committed", "Tester"));
+
+        // Then
+        JsonNode event = nextEvent("COMMENT");
+        assertThat(event.path("action").asText()).isEqualTo("CREATED");
+        assertThat(event.path("taskId").asText()).isEqualTo(task.getId().toString());
+        assertThat(event.path("id").asText()).isEqualTo(comment.id().toString());
+        assertThat(event.path("data").path("content").asText()).isEqualTo("Committed");
+        awaitActivity(task, 1);
+    }
+
+    // Change entries go through the write-behind writer; wait for them so teardown can delete the task
+    private void awaitActivity(Task task, int expected) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (activityLogRepository.findByTaskIdOrderByTimestampDesc(task.getId()).size() < expected
+                && System.currentTimeMillis() < deadline) {
+            activityLogWriter.flush();
+        }
+    }
+
+    // Skips events of other types, e.g. the activity entries written for the same change
+    private JsonNode nextEvent(String type) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            String payload = received.poll(deadline - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+            if (payload == null) {
+                break;
+            }
+            JsonNode event = jsonMapper.readTree(payload);
+            if (type.equals(event.path("type").asText())) {
+                return event;
+            }
+        }
+        throw new AssertionError("No " + type + " event received");
+    }
+
+    private static TaskDto taskDto(String title) {
+        return new TaskDto(null, title, "Desc", Task.Priority.MEDIUM, Task.Status.TODO, null);
+    }
+}
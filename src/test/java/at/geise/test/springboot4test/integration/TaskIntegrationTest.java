@@ -2,7 +2,9 @@ package at.geise.test.springboot4test.integration;
 
 import at.geise.test.springboot4test.config.TestAiConfig;
 import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.CursorPage;
 import at.geise.test.springboot4test.dto.TaskDto;
+import at.geise.test.springboot4test.dto.TaskFilter;
 import at.geise.test.springboot4test.repository.ActivityLogRepository;
 import at.geise.test.springboot4test.repository.TaskRepository;
 import at.geise.test.springboot4test.service.TaskService;
@@ -16,6 +18,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -167,6 +171,25 @@ class TaskIntegrationTest {
         assertThat(highPriorityTasks.getContent().get(0).getPriority()).isEqualTo(Task.Priority.HIGH);
     }
 
+    @Test
+    void shouldCombineStatusPriorityAndDueDateFilters() {
+        // Given
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        taskService.create(new TaskDto(null, "Match", "Desc", Task.Priority.HIGH, Task.Status.TODO, base.plusDays(1)));
+        taskService.create(new TaskDto(null, "Wrong priority", "Desc", Task.Priority.LOW, Task.Status.TODO, base.plusDays(1)));
+        taskService.create(new TaskDto(null, "Wrong status", "Desc", Task.Priority.HIGH, Task.Status.DONE, base.plusDays(1)));
+        taskService.create(new TaskDto(null, "Too late", "Desc", Task.Priority.HIGH, Task.Status.TODO, base.plusDays(10)));
+        taskService.create(new TaskDto(null, "No due date", "Desc", Task.Priority.HIGH, Task.Status.TODO, null));
+        TaskFilter filter = new TaskFilter(Task.Status.TODO, Task.Priority.HIGH, base, base.plusDays(5),
+                LocalDateTime.now().minusHours(1), null, null, null);
+
+        // When
+        Page<Task> tasks = taskService.list(0, 10, filter, "createdAt", "DESC");
+
+        // Then
+        assertThat(tasks.getContent()).extracting(Task::getTitle).containsExactly("Match");
+    }
+
     @Test
     void shouldHandlePagination() {
         // Given
@@ -184,5 +207,66 @@ class TaskIntegrationTest {
         assertThat(page1.getTotalPages()).isEqualTo(2);
         assertThat(page1.getTotalElements()).isEqualTo(15);
     }
-}
 
+    @Test
+    void shouldScrollThroughAllTasksWithCursor() {
+        // Given
+        for (int i = 1; i <= 7; i++) {
+            taskService.create(new TaskDto(null, "Task " + i, "Desc", Task.Priority.MEDIUM, Task.Status.TODO, null));
+        }
+
+        // When
+        List<Task> seen = new ArrayList<>();
+        CursorPage<Task> slice = taskService.scroll(null, 3, null, "createdAt", "DESC");
+        seen.addAll(slice.items());
+        while (slice.hasNext()) {
+            slice = taskService.scroll(slice.nextCursor(), 3, null, null, null);
+            seen.addAll(slice.items());
+        }
+
+        // Then
+        assertThat(seen).hasSize(7);
+        assertThat(seen).extracting(Task::getId).doesNotHaveDuplicates();
+        assertThat(slice.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldScrollByNullableDueDateWithNullsLast() {
+        // Given
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        taskService.create(new TaskDto(null, "Later", "Desc", Task.Priority.LOW, Task.Status.TODO, base.plusDays(2)));
+        taskService.create(new TaskDto(null, "No date A", "Desc", Task.Priority.LOW, Task.Status.TODO, null));
+        taskService.create(new TaskDto(null, "Sooner", "Desc", Task.Priority.LOW, Task.Status.TODO, base));
+        taskService.create(new TaskDto(null, "No date B", "Desc", Task.Priority.LOW, Task.Status.TODO, null));
+
+        // When
+        CursorPage<Task> first = taskService.scroll(null, 2, null, "dueDate", "ASC");
+        CursorPage<Task> second = taskService.scroll(first.nextCursor(), 2, null, null, null);
+
+        // Then
+        assertThat(first.items()).extracting(Task::getTitle).containsExactly("Sooner", "Later");
+        assertThat(second.items()).extracting(Task::getTitle).containsExactlyInAnyOrder("No date A", "No date B");
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldApplyFiltersWhenScrolling() {
+        // Given
+        taskService.create(new TaskDto(null, "TODO Task", "Desc", Task.Priority.HIGH, Task.Status.TODO, null));
+        taskService.create(new TaskDto(null, "DONE Task", "Desc", Task.Priority.HIGH, Task.Status.DONE, null));
+
+        // When
+        CursorPage<Task> slice = taskService.scroll(null, 10, TaskFilter.of(Task.Status.DONE, null), "title", "ASC");
+
+        // Then
+        assertThat(slice.items()).extracting(Task::getTitle).containsExactly("DONE Task");
+        assertThat(slice.hasNext()).isFalse();
+    }
+
+    @Test
+    void shouldRejectTamperedCursor() {
+        assertThatThrownBy(() -> taskService.scroll("not-a-cursor", 10, null, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+}
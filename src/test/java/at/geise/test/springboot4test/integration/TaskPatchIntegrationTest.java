@@ -0,0 +1,170 @@
+package at.geise.test.springboot4test.integration;
+
+import at.geise.test.springboot4test.config.TestAiConfig;
+import at.geise.test.springboot4test.domain.ActivityLog;
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.TaskDto;
+import at.geise.test.springboot4test.repository.ActivityLogRepository;
+import at.geise.test.springboot4test.repository.ActivityOutboxRepository;
+import at.geise.test.springboot4test.repository.CommentRepository;
+import at.geise.test.springboot4test.repository.TaskRepository;
+import at.geise.test.springboot4test.service.ActivityLogWriter;
+import at.geise.test.springboot4test.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestAiConfig.class)
+class TaskPatchIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private ActivityOutboxRepository activityOutboxRepository;
+
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
+    private MockMvc mockMvc;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        task = taskService.create(new TaskDto(null, "Patched task", "Desc", Task.Priority.MEDIUM, Task.Status.TODO, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        activityLogWriter.flush();
+        activityOutboxRepository.deleteAll();
+        activityLogRepository.deleteAll();
+        commentRepository.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void shouldUpdateOnlyPatchedField_andLogOnlyThatChange() throws Exception {
+        // When
+        MvcResult result = patchTask("{\"version\":0,\"status\":\"DONE\"}");
+
+        // Then
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(result.getResponse().getContentAsString()).contains("\"version\":1", "\"status\":\"DONE\"");
+        Task stored = taskService.get(task.getId());
+        assertThat(stored.getStatus()).isEqualTo(Task.Status.DONE);
+        assertThat(stored.getTitle()).isEqualTo("Patched task");
+        assertThat(stored.getDescription()).isEqualTo("Desc");
+        assertThat(stored.getVersion()).isEqualTo(1);
+        assertThat(awaitActivity(1)).extracting(ActivityLog::getAction).containsExactly("STATUS_CHANGED");
+    }
+
+    @Test
+    void shouldRejectStaleVersion_withConflict() throws Exception {
+        // Given
+        patchTask("{\"version\":0,\"title\":\"First writer\"}");
+
+        // When
+        MvcResult result = patchTask("{\"version\":0,\"title\":\"Second writer\"}");
+
+        // Then
+        assertThat(result.getResponse().getStatus()).isEqualTo(409);
+        assertThat(taskService.get(task.getId()).getTitle()).isEqualTo("First writer");
+        assertThat(awaitActivity(1)).hasSize(1);
+    }
+
+    @Test
+    void shouldClearNullableField_whenSentAsNull() throws Exception {
+        // When
+        MvcResult result = patchTask("{\"version\":0,\"description\":null}");
+
+        // Then
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(taskService.get(task.getId()).getDescription()).isNull();
+        assertThat(awaitActivity(1)).extracting(ActivityLog::getAction).containsExactly("DESCRIPTION_CHANGED");
+    }
+
+    @Test
+    void shouldRejectNullTitle_andMissingVersion() throws Exception {
+        // When
+        MvcResult nullTitle = patchTask("{\"version\":0,\"title\":null}");
+        MvcResult noVersion = patchTask("{\"title\":\"No version\"}");
+
+        // Then
+        assertThat(nullTitle.getResponse().getStatus()).isEqualTo(400);
+        assertThat(noVersion.getResponse().getStatus()).isEqualTo(400);
+        assertThat(taskService.get(task.getId()).getTitle()).isEqualTo("Patched task");
+    }
+
+    @Test
+    void shouldNotBumpVersion_whenNothingChanged() throws Exception {
+        // When
+        MvcResult result = patchTask("{\"version\":0,\"title\":\"Patched task\",\"priority\":\"MEDIUM\"}");
+
+        // Then
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        Task stored = taskService.get(task.getId());
+        assertThat(stored.getVersion()).isZero();
+        assertThat(stored.getUpdatedAt()).isNull();
+        assertThat(awaitActivity(0)).isEmpty();
+    }
+
+    @Test
+    void shouldFailConcurrentUpdate_fromStaleEntity() {
+        // Given
+        Task stale = taskService.get(task.getId());
+        taskService.update(task.getId(), new TaskDto(task.getId(), "Winner", "Desc", Task.Priority.MEDIUM, Task.Status.TODO, null));
+        stale.setTitle("Loser");
+
+        // When/Then
+        assertThatThrownBy(() -> taskRepository.save(stale)).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(taskService.get(task.getId()).getTitle()).isEqualTo("Winner");
+        assertThat(awaitActivity(1)).hasSize(1);
+    }
+
+    // Change entries go through the write-behind writer; creation entries stay in the outbox
+    private List<ActivityLog> awaitActivity(int expected) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        List<ActivityLog> logs = activityLogRepository.findByTaskIdOrderByTimestampDesc(task.getId());
+        while (logs.size() < expected && System.currentTimeMillis() < deadline) {
+            activityLogWriter.flush();
+            logs = activityLogRepository.findByTaskIdOrderByTimestampDesc(task.getId());
+        }
+        return logs;
+    }
+
+    private MvcResult patchTask(String body) throws Exception {
+        return mockMvc.perform(patch("/api/tasks/" + task.getId()).contentType(MediaType.APPLICATION_JSON).content(body)).andReturn();
+    }
+}
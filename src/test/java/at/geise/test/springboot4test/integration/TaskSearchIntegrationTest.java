@@ -0,0 +1,152 @@
+package at.geise.test.springboot4test.integration;
+
+import at.geise.test.springboot4test.config.TestAiConfig;
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.CommentDto;
+import at.geise.test.springboot4test.dto.CreateCommentRequest;
+import at.geise.test.springboot4test.dto.TaskDto;
+import at.geise.test.springboot4test.dto.TaskSearchHit;
+import at.geise.test.springboot4test.dto.UpdateCommentRequest;
+import at.geise.test.springboot4test.repository.ActivityLogRepository;
+import at.geise.test.springboot4test.repository.ActivityOutboxRepository;
+import at.geise.test.springboot4test.repository.CommentRepository;
+import at.geise.test.springboot4test.repository.TaskRepository;
+import at.geise.test.springboot4test.service.ActivityLogWriter;
+import at.geise.test.springboot4test.service.CommentService;
+import at.geise.test.springboot4test.service.TaskBulkService;
+import at.geise.test.springboot4test.service.TaskSearchService;
+import at.geise.test.springboot4test.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestAiConfig.class)
+class TaskSearchIntegrationTest {
+
+    @Autowired
+    private TaskSearchService searchService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private TaskBulkService bulkService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ActivityLogRepository activityLogRepository;
+
+    @Autowired
+    private ActivityOutboxRepository activityOutboxRepository;
+
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+
+    // Unique per test: tasks removed by deleteAll() in cleanup bypass the index
+    private final String word = "w" + UUID.randomUUID().toString().replace("-", "");
+
+    @AfterEach
+    void tearDown() {
+        activityOutboxRepository.deleteAll();
+        activityLogRepository.deleteAll();
+        commentRepository.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    void shouldFindTasksByTitleDescriptionAndComment_rankedByField() {
+        // Given
+        Task byComment = taskService.create(dto("Release notes", "Draft"));
+        Task byTitle = taskService.create(dto("Rotate " + word + " keys", null));
+        Task byDescription = taskService.create(dto("Security review", "Check " + word + " usage"));
+        commentService.addComment(byComment.getId(), new CreateCommentRequest("Mention " + word, "Tester"));
+        awaitActivity(byComment);
+
+        // When
+        Page<TaskSearchHit> hits = searchService.search(word.toUpperCase(), 0, 10);
+
+        // Then
+        assertThat(hits.getTotalElements()).isEqualTo(3);
+        assertThat(hits.getContent()).extracting(TaskSearchHit::id)
+                .containsExactly(byTitle.getId(), byDescription.getId(), byComment.getId());
+        assertThat(hits.getContent().get(0).title()).isEqualTo("Rotate " + word + " keys");
+    }
+
+    @Test
+    void shouldKeepIndexCurrent_whenTasksAndCommentsChange() {
+        // Given
+        Task task = taskService.create(dto("Before " + word, null));
+        Task other = taskService.create(dto("Unrelated", null));
+        CommentDto comment = commentService.addComment(other.getId(), new CreateCommentRequest("first " + word, "Tester"));
+        awaitActivity(other);
+
+        // When
+        taskService.update(task.getId(), dto("After", null));
+        commentService.updateComment(comment.id(), new UpdateCommentRequest("no longer matching"));
+        awaitActivity(task);
+
+        // Then
+        assertThat(searchService.search(word, 0, 10)).isEmpty();
+        assertThat(searchService.search("longer matching", 0, 10).getContent())
+                .extracting(TaskSearchHit::id).contains(other.getId());
+    }
+
+    @Test
+    void shouldIndexBulkImportedTasks_andPaginate() {
+        // Given
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            ndjson.append("{\"title\":\"Imported ").append(word).append(' ').append(i)
+                    .append("\",\"priority\":\"LOW\",\"status\":\"TODO\"}\n");
+        }
+        bulkService.importNdjson(new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+
+        // When
+        Page<TaskSearchHit> secondPage = searchService.search("imported " + word, 1, 2);
+
+        // Then
+        assertThat(secondPage.getTotalElements()).isEqualTo(5);
+        assertThat(secondPage.getTotalPages()).isEqualTo(3);
+        assertThat(secondPage.getContent()).hasSize(2);
+    }
+
+    @Test
+    void shouldRejectBlankQuery() {
+        assertThatThrownBy(() -> searchService.search("  ", 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Change and comment entries are logged asynchronously; wait so cleanup does not race the writer
+    private void awaitActivity(Task task) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (activityLogRepository.findByTaskIdOrderByTimestampDesc(task.getId()).isEmpty()
+                && System.currentTimeMillis() < deadline) {
+            activityLogWriter.flush();
+        }
+    }
+
+    private static TaskDto dto(String title, String description) {
+        return new TaskDto(null, title, description, Task.Priority.MEDIUM, Task.Status.TODO, null);
+    }
+}
@@ -0,0 +1,55 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.dto.ActivityLogDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ActivityArchiveCodecTest {
+
+    private final UUID taskId = UUID.randomUUID();
+
+    @Test
+    void shouldRoundTripEntries_includingNullValues() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 8, 15, 30, 123_456_000);
+        List<ActivityLogDto> entries = List.of(
+                new ActivityLogDto(UUID.randomUUID(), taskId, "CREATED", null, null, "System", start),
+                new ActivityLogDto(UUID.randomUUID(), taskId, "STATUS_CHANGED", "TODO", "DONE", "Alice", start.plusSeconds(90)),
+                new ActivityLogDto(UUID.randomUUID(), taskId, "DESCRIPTION_CHANGED", "Old ünïcode", null, "Bob", start.plusDays(3)));
+
+        // When
+        List<ActivityLogDto> decoded = ActivityArchiveCodec.decode(taskId, ActivityArchiveCodec.encode(entries));
+
+        // Then
+        assertThat(decoded).isEqualTo(entries);
+    }
+
+    @Test
+    void shouldCompressRepetitiveHistory() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<ActivityLogDto> entries = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            entries.add(new ActivityLogDto(UUID.randomUUID(), taskId, "STATUS_CHANGED", "TODO", "IN_PROGRESS", "System", start.plusMinutes(i)));
+        }
+
+        // When
+        byte[] payload = ActivityArchiveCodec.encode(entries);
+
+        // Then - dominated by the 16-byte ids, far below a row per entry
+        assertThat(payload.length).isLessThan(entries.size() * 24);
+    }
+
+    @Test
+    void shouldRejectUnknownPayload() {
+        assertThatThrownBy(() -> ActivityArchiveCodec.decode(taskId, new byte[]{1, 2, 3}))
+                .isInstanceOf(RuntimeException.class);
+    }
+}
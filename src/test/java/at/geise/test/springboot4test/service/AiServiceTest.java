@@ -0,0 +1,379 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.AiTaskSuggestionRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AiServiceTest {
+
+    private final AtomicInteger providerCalls = new AtomicInteger();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AiService service;
+    private ExchangeFunction exchange;
+
+    @BeforeEach
+    void setUp() {
+        exchange = request -> Mono.just(completion("{\"priority\": \"HIGH\", \"rationale\": \"Blocks release\"}"));
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://ai.test")
+                .exchangeFunction(request -> {
+                    providerCalls.incrementAndGet();
+                    return exchange.exchange(request);
+                })
+                .build();
+
+        service = new AiService(webClient,
+                new AiResponseCache(meterRegistry, true, Duration.ofMinutes(10), 100),
+                new AiMetrics(meterRegistry));
+        ReflectionTestUtils.setField(service, "model", "test-model");
+        ReflectionTestUtils.setField(service, "temperature", 0.7);
+        ReflectionTestUtils.setField(service, "maxTokens", 500);
+        ReflectionTestUtils.setField(service, "timeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(service, "batchMaxItemsPerRequest", 20);
+        ReflectionTestUtils.setField(service, "batchConcurrency", 2);
+        ReflectionTestUtils.setField(service, "batchMaxInputTokens", 3000);
+    }
+
+    @Test
+    void prioritizeAsync_shouldParseProviderResponse() {
+        // When
+        AiService.PrioritySuggestion result = service.prioritizeAsync(request("Ship release")).block();
+
+        // Then
+        assertThat(result).isNotNull();
+        assertThat(result.priority()).isEqualTo(Task.Priority.HIGH);
+        assertThat(result.rationale()).isEqualTo("Blocks release");
+        assertThat(providerCalls).hasValue(1);
+    }
+
+    @Test
+    void prioritizeAsync_shouldFallBack_whenProviderTimesOut() {
+        // Given
+        exchange = request -> Mono.never();
+        ReflectionTestUtils.setField(service, "timeout", Duration.ofMillis(200));
+
+        // When
+        AiService.PrioritySuggestion result = service.prioritizeAsync(
+                new AiTaskSuggestionRequest("Hotfix", null, LocalDateTime.now().plusHours(3))).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(result).isNotNull();
+        assertThat(result.priority()).isEqualTo(Task.Priority.HIGH);
+        assertThat(result.rationale()).isEqualTo("Due in <48h");
+    }
+
+    @Test
+    void prioritizeAsync_shouldRecordLatencyAndTokenUsage() {
+        // Given
+        exchange = request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("""
+                        {"choices":[{"message":{"content":"{\\"priority\\": \\"LOW\\", \\"rationale\\": \\"Later\\"}"}}],
+                         "usage":{"prompt_tokens":120,"completion_tokens":18,"total_tokens":138}}""")
+                .build());
+
+        // When
+        service.prioritizeAsync(request("Polish icons")).block();
+
+        // Then
+        assertThat(meterRegistry.get("ai.requests").tag("operation", "prioritize").tag("model", "test-model")
+                .tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.tokens").tag("operation", "prioritize").tag("type", "prompt")
+                .counter().count()).isEqualTo(120.0);
+        assertThat(meterRegistry.get("ai.tokens").tag("operation", "prioritize").tag("type", "completion")
+                .counter().count()).isEqualTo(18.0);
+    }
+
+    @Test
+    void prioritizeAsync_shouldRecordTimeoutAndFallback_whenProviderTimesOut() {
+        // Given
+        exchange = request -> Mono.never();
+        ReflectionTestUtils.setField(service, "timeout", Duration.ofMillis(200));
+
+        // When
+        service.prioritizeAsync(request("Hotfix")).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(meterRegistry.get("ai.requests").tag("operation", "prioritize").tag("outcome", "timeout")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.fallbacks").tag("operation", "prioritize").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void deadlineAsync_shouldFallBackWithoutCaching_whenResponseIsUnparseable() {
+        // Given
+        exchange = request -> Mono.just(completion("Sure! I think about a week."));
+
+        // When
+        service.predictDeadlineAsync(request("Write docs")).block();
+        service.predictDeadlineAsync(request("Write docs")).block();
+
+        // Then
+        assertThat(providerCalls).hasValue(2);
+        assertThat(meterRegistry.get("ai.requests").tag("operation", "deadline").tag("outcome", "parse-failure")
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("ai.fallbacks").tag("operation", "deadline").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void decomposeAsync_shouldFallBack_whenProviderFails() {
+        // Given
+        exchange = request -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+
+        // When
+        AiService.DecompositionSuggestion result = service.decomposeAsync(request("Onboarding")).block();
+
+        // Then
+        assertThat(result).isNotNull();
+        assertThat(result.subtasks()).hasSize(5).first().isEqualTo("Clarify requirements for: Onboarding");
+    }
+
+    @Test
+    void prioritizeAsync_shouldServeRepeatedRequestFromCache_whenInputsOnlyDifferInWhitespaceAndCase() {
+        // When
+        service.prioritizeAsync(new AiTaskSuggestionRequest("Ship  release", "Description", null)).block();
+        AiService.PrioritySuggestion cached = service.prioritizeAsync(
+                new AiTaskSuggestionRequest(" ship release ", "DESCRIPTION", null)).block();
+
+        // Then
+        assertThat(cached.priority()).isEqualTo(Task.Priority.HIGH);
+        assertThat(providerCalls).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", AiResponseCache.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void prioritizeAsync_shouldCompleteSharedCall_whenOneCallerCancels() {
+        // Given
+        exchange = request -> Mono.delay(Duration.ofMillis(300))
+                .then(Mono.just(completion("{\"priority\": \"HIGH\", \"rationale\": \"Blocks release\"}")));
+        Disposable abandoned = service.prioritizeAsync(request("Ship release")).subscribe();
+
+        // When
+        Mono<AiService.PrioritySuggestion> waiting = service.prioritizeAsync(request("Ship release"));
+        abandoned.dispose();
+        AiService.PrioritySuggestion result = waiting.block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(result.rationale()).isEqualTo("Blocks release");
+        assertThat(providerCalls).hasValue(1);
+    }
+
+    @Test
+    void prioritizeAsync_shouldNotCacheFallback_whenProviderFails() {
+        // Given
+        exchange = request -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+        service.prioritizeAsync(request("Ship release")).block();
+        exchange = request -> Mono.just(completion("{\"priority\": \"LOW\", \"rationale\": \"Nice to have\"}"));
+
+        // When
+        AiService.PrioritySuggestion result = service.prioritizeAsync(request("Ship release")).block();
+
+        // Then
+        assertThat(result.priority()).isEqualTo(Task.Priority.LOW);
+        assertThat(providerCalls).hasValue(2);
+    }
+
+    @Test
+    void prioritizeBatchAsync_shouldFallBackPerItem_whenEntryIsMissingOrInvalid() {
+        // Given
+        exchange = request -> Mono.just(completion("""
+                {"results": [
+                  {"index": 1, "priority": "LOW", "rationale": "Cosmetic"},
+                  {"index": 2, "priority": "URGENT", "rationale": "Not a valid priority"}
+                ]}"""));
+        List<AiTaskSuggestionRequest> tasks = List.of(
+                request("Polish icons"),
+                new AiTaskSuggestionRequest("Outage", null, LocalDateTime.now().plusHours(2)),
+                request("Write docs"));
+
+        // When
+        List<AiService.PrioritySuggestion> result = service.prioritizeBatchAsync(tasks).block();
+
+        // Then
+        assertThat(result).extracting(AiService.PrioritySuggestion::priority)
+                .containsExactly(Task.Priority.LOW, Task.Priority.HIGH, Task.Priority.MEDIUM);
+        assertThat(providerCalls).hasValue(1);
+    }
+
+    @Test
+    void prioritizeBatchAsync_shouldRecordParseFailure_whenResponseHasNoResults() {
+        // Given
+        exchange = request -> Mono.just(completion("{\"priorities\": [\"LOW\", \"HIGH\"]}"));
+        List<AiTaskSuggestionRequest> tasks = List.of(request("Polish icons"), request("Write docs"));
+
+        // When
+        List<AiService.PrioritySuggestion> result = service.prioritizeBatchAsync(tasks).block();
+
+        // Then
+        assertThat(result).hasSize(2);
+        assertThat(meterRegistry.find("ai.requests").tag("operation", "prioritize-batch").tag("outcome", "success")
+                .timer()).isNull();
+        assertThat(meterRegistry.get("ai.requests").tag("operation", "prioritize-batch").tag("outcome", "parse-failure")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.fallbacks").tag("operation", "prioritize-batch").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void chunkByTokenBudget_shouldReserveCompletionTokensPerTask() {
+        // Given - room for two result entries
+        ReflectionTestUtils.setField(service, "maxTokens", 130);
+        List<AiTaskSuggestionRequest> tasks = IntStream.range(0, 10)
+                .mapToObj(i -> request("Task " + i))
+                .toList();
+
+        // When
+        List<List<AiTaskSuggestionRequest>> chunks = service.chunkByTokenBudget(tasks);
+
+        // Then
+        assertThat(chunks).hasSizeGreaterThan(1);
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk).hasSizeLessThanOrEqualTo(2));
+        assertThat(chunks.stream().mapToInt(List::size).sum()).isEqualTo(10);
+    }
+
+    @Test
+    void chunkByTokenBudget_shouldKeepPromptWithinInputBudget_countingTemplateOncePerChunk() {
+        // Given - roughly 500 tokens per task and 200 for the template: two tasks fit, three do not
+        ReflectionTestUtils.setField(service, "maxTokens", 10_000);
+        ReflectionTestUtils.setField(service, "batchMaxInputTokens", 1_500);
+        List<AiTaskSuggestionRequest> tasks = IntStream.range(0, 5)
+                .mapToObj(i -> new AiTaskSuggestionRequest("Task " + i, "x".repeat(2_000), null))
+                .toList();
+
+        // When
+        List<List<AiTaskSuggestionRequest>> chunks = service.chunkByTokenBudget(tasks);
+
+        // Then
+        assertThat(chunks).extracting(List::size).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    void decomposeStream_shouldEmitSubtasksAsSoonAsTheyAreComplete() {
+        // Given - the JSON is split mid-string across deltas, as providers do
+        exchange = request -> Mono.just(streamedCompletion(
+                "```json\n{\"subtasks\": [\"Draft ",
+                "outline\", \"Review \\\"API\\\" ",
+                "design\"",
+                ", \"Ship\"]}\n```"));
+
+        // When
+        List<String> subtasks = service.decomposeStream(request("Release")).collectList().block();
+
+        // Then
+        assertThat(subtasks).containsExactly("Draft outline", "Review \"API\" design", "Ship");
+    }
+
+    @Test
+    void decomposeStream_shouldRecordLatencyAndTokenUsage() {
+        // Given - usage arrives in a final chunk without choices
+        exchange = request -> Mono.just(streamedCompletionWithUsage(
+                "{\"prompt_tokens\":80,\"completion_tokens\":12}", "{\"subtasks\": [\"Plan\", \"Ship\"]}"));
+
+        // When
+        service.decomposeStream(request("Release")).collectList().block();
+
+        // Then
+        assertThat(meterRegistry.get("ai.requests").tag("operation", "decompose").tag("outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.tokens").tag("operation", "decompose").tag("type", "prompt")
+                .counter().count()).isEqualTo(80.0);
+        assertThat(meterRegistry.get("ai.tokens").tag("operation", "decompose").tag("type", "completion")
+                .counter().count()).isEqualTo(12.0);
+    }
+
+    @Test
+    void decomposeStream_shouldRecordParseFailure_whenStreamEndsBeforeListIsClosed() {
+        // Given
+        exchange = request -> Mono.just(streamedCompletion("{\"subtasks\": [\"Plan\", \"Bui"));
+
+        // When
+        List<String> subtasks = service.decomposeStream(request("Release")).collectList().block();
+
+        // Then - what was complete is kept, the cut-off subtask is not
+        assertThat(subtasks).containsExactly("Plan");
+        assertThat(meterRegistry.get("ai.requests").tag("operation", "decompose").tag("outcome", "parse-failure")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void decomposeStream_shouldRecordCancellation_whenClientDisconnects() {
+        // Given
+        exchange = request -> Mono.just(streamedCompletion("{\"subtasks\": [\"Plan\", ", "\"Build\", \"Ship\"]}"));
+
+        // When - the client goes away after the first subtask
+        List<String> subtasks = service.decomposeStream(request("Release")).take(1).collectList().block();
+
+        // Then
+        assertThat(subtasks).containsExactly("Plan");
+        assertThat(meterRegistry.get("ai.requests").tag("operation", "decompose").tag("outcome", "cancelled")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("ai.requests").tag("operation", "decompose").tag("outcome", "success")
+                .timer()).isNull();
+    }
+
+    @Test
+    void decomposeStream_shouldFallBack_whenStreamYieldsNoSubtasks() {
+        // Given
+        exchange = request -> Mono.just(streamedCompletion("I cannot help with that."));
+
+        // When
+        List<String> subtasks = service.decomposeStream(request("Release")).collectList().block();
+
+        // Then
+        assertThat(subtasks).hasSize(5).first().isEqualTo("Clarify requirements for: Release");
+        assertThat(meterRegistry.get("ai.fallbacks").tag("operation", "decompose").counter().count()).isEqualTo(1.0);
+    }
+
+    static AiTaskSuggestionRequest request(String title) {
+        return new AiTaskSuggestionRequest(title, "Description", null);
+    }
+
+    static ClientResponse completion(String content) {
+        String escaped = content.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"choices\":[{\"message\":{\"content\":\"" + escaped + "\"}}]}")
+                .build();
+    }
+
+    static ClientResponse streamedCompletion(String... deltas) {
+        return streamedCompletionWithUsage(null, deltas);
+    }
+
+    static ClientResponse streamedCompletionWithUsage(String usage, String... deltas) {
+        StringBuilder body = new StringBuilder();
+        for (String delta : deltas) {
+            String escaped = delta.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+            body.append("data: {\"choices\":[{\"delta\":{\"content\":\"").append(escaped).append("\"}}]}\n\n");
+        }
+        if (usage != null) {
+            body.append("data: {\"choices\":[],\"usage\":").append(usage).append("}\n\n");
+        }
+        body.append("data: [DONE]\n\n");
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+                .body(body.toString())
+                .build();
+    }
+}
@@ -0,0 +1,106 @@
+package at.geise.test.springboot4test.service;
+
+import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.ChangeEventDto;
+import at.geise.test.springboot4test.dto.CommentDto;
+import at.geise.test.springboot4test.dto.TaskDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryTaskSearchIndexTest {
+
+    private InMemoryTaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryTaskSearchIndex(null);
+    }
+
+    @Test
+    void shouldRankTitleMatchAboveDescriptionAndCommentMatches() {
+        // Given
+        UUID inTitle = task("Migrate billing database", "Plan the cutover");
+        UUID inDescription = task("Weekly sync", "Agenda: billing questions");
+        UUID inComment = task("Release notes", "Draft for v2");
+        comment(inComment, "Mention the billing fix");
+
+        // When
+        Page<TaskSearchIndex.Match> result = index.search("Billing", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(result.getContent()).extracting(TaskSearchIndex.Match::taskId)
+                .containsExactly(inTitle, inDescription, inComment);
+    }
+
+    @Test
+    void shouldRequireAllTermsWithinOneDocument() {
+        // Given
+        UUID both = task("Fix login timeout", null);
+        UUID split = task("Fix layout", null);
+        comment(split, "timeout seen on staging");
+
+        // When
+        Page<TaskSearchIndex.Match> result = index.search("fix timeout", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(result.getContent()).extracting(TaskSearchIndex.Match::taskId).containsExactly(both);
+    }
+
+    @Test
+    void shouldFollowUpdatesAndDeletes() {
+        // Given
+        UUID taskId = task("Old wording", null);
+        comment(taskId, "kubernetes upgrade");
+
+        // When
+        index.onChange(ChangeEventDto.of(ChangeEventDto.Type.TASK, ChangeEventDto.Action.UPDATED, taskId, taskId,
+                new TaskDto(taskId, "New wording", null, Task.Priority.LOW, Task.Status.TODO, null)));
+
+        // Then
+        assertThat(index.search("old", PageRequest.of(0, 10))).isEmpty();
+        assertThat(index.search("new wording", PageRequest.of(0, 10))).hasSize(1);
+
+        // When - deleting the task drops its comments too
+        index.onChange(ChangeEventDto.of(ChangeEventDto.Type.TASK, ChangeEventDto.Action.DELETED, taskId, taskId, null));
+
+        // Then
+        assertThat(index.search("kubernetes", PageRequest.of(0, 10))).isEmpty();
+        assertThat(index.search("wording", PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void shouldPaginateRankedMatches() {
+        // Given
+        List<UUID> ids = List.of(task("report one", null), task("report two", null), task("report three", null));
+
+        // When
+        Page<TaskSearchIndex.Match> second = index.search("report", PageRequest.of(1, 2));
+
+        // Then
+        assertThat(second.getTotalElements()).isEqualTo(3);
+        assertThat(second.getContent()).hasSize(1);
+        assertThat(ids).contains(second.getContent().get(0).taskId());
+    }
+
+    private UUID task(String title, String description) {
+        UUID id = UUID.randomUUID();
+        index.onChange(ChangeEventDto.of(ChangeEventDto.Type.TASK, ChangeEventDto.Action.CREATED, id, id,
+                new TaskDto(id, title, description, Task.Priority.MEDIUM, Task.Status.TODO, null)));
+        return id;
+    }
+
+    private UUID comment(UUID taskId, String content) {
+        UUID id = UUID.randomUUID();
+        index.onChange(ChangeEventDto.of(ChangeEventDto.Type.COMMENT, ChangeEventDto.Action.CREATED, taskId, id,
+                new CommentDto(id, taskId, content, "Tester", LocalDateTime.now(), null)));
+        return id;
+    }
+}
@@ -1,19 +1,27 @@
 package at.geise.test.springboot4test.service;
 
 import at.geise.test.springboot4test.domain.Task;
+import at.geise.test.springboot4test.dto.ChangeEventDto;
+import at.geise.test.springboot4test.dto.TaskChange;
 import at.geise.test.springboot4test.dto.TaskDto;
+import at.geise.test.springboot4test.dto.TaskPatch;
 import at.geise.test.springboot4test.repository.TaskRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,6 +29,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -33,6 +42,9 @@ class TaskServiceTest {
     @Mock
     private ActivityLogService activityLogService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TaskService service;
 
@@ -51,6 +63,7 @@ class TaskServiceTest {
         testTask.setStatus(Task.Status.TODO);
         testTask.setDueDate(LocalDateTime.now().plusDays(1));
         testTask.setCreatedAt(LocalDateTime.now());
+        testTask.setVersion(3L);
 
         testDto = new TaskDto(
                 testId,
@@ -66,7 +79,7 @@ class TaskServiceTest {
     void list_shouldReturnPageOfAllTasks_whenNoFilters() {
         // Given
         Page<Task> expectedPage = new PageImpl<>(List.of(testTask));
-        when(repository.findAll(any(PageRequest.class))).thenReturn(expectedPage);
+        when(repository.findAll(ArgumentMatchers.<Specification<Task>>any(), any(PageRequest.class))).thenReturn(expectedPage);
 
         // When
         Page<Task> result = service.list(null, null, null, null, null, null);
@@ -75,51 +88,38 @@ class TaskServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getTitle()).isEqualTo("Test Task");
-        verify(repository).findAll(any(PageRequest.class));
-    }
-
-    @Test
-    void list_shouldReturnPageFilteredByStatus_whenStatusProvided() {
-        // Given
-        Page<Task> expectedPage = new PageImpl<>(List.of(testTask));
-        when(repository.findByStatus(eq(Task.Status.TODO), any(PageRequest.class))).thenReturn(expectedPage);
-
-        // When
-        Page<Task> result = service.list(null, null, Task.Status.TODO, null, null, null);
-
-        // Then
-        assertThat(result).isNotNull();
-        assertThat(result.getContent()).hasSize(1);
-        verify(repository).findByStatus(eq(Task.Status.TODO), any(PageRequest.class));
+        verify(repository).findAll(ArgumentMatchers.<Specification<Task>>any(), any(PageRequest.class));
     }
 
     @Test
-    void list_shouldReturnPageFilteredByPriority_whenPriorityProvided() {
+    void list_shouldQueryWithSpecification_whenStatusAndPriorityProvided() {
         // Given
         Page<Task> expectedPage = new PageImpl<>(List.of(testTask));
-        when(repository.findByPriority(eq(Task.Priority.HIGH), any(PageRequest.class))).thenReturn(expectedPage);
+        when(repository.findAll(ArgumentMatchers.<Specification<Task>>any(), any(PageRequest.class))).thenReturn(expectedPage);
 
         // When
-        Page<Task> result = service.list(null, null, null, Task.Priority.HIGH, null, null);
+        Page<Task> result = service.list(null, null, Task.Status.TODO, Task.Priority.HIGH, null, null);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
-        verify(repository).findByPriority(eq(Task.Priority.HIGH), any(PageRequest.class));
+        verify(repository).findAll(ArgumentMatchers.<Specification<Task>>any(), any(PageRequest.class));
+        verify(repository, never()).findAll(any(PageRequest.class));
     }
 
     @Test
     void list_shouldUseCustomPageParameters_whenProvided() {
         // Given
         Page<Task> expectedPage = new PageImpl<>(List.of(testTask));
-        when(repository.findAll(any(PageRequest.class))).thenReturn(expectedPage);
+        when(repository.findAll(ArgumentMatchers.<Specification<Task>>any(), any(PageRequest.class))).thenReturn(expectedPage);
 
         // When
         Page<Task> result = service.list(2, 20, null, null, "title", "ASC");
 
         // Then
         assertThat(result).isNotNull();
-        verify(repository).findAll(any(PageRequest.class));
+        verify(repository).findAll(ArgumentMatchers.<Specification<Task>>any(), argThat((PageRequest pr) ->
+                pr.getPageNumber() == 2 && pr.getPageSize() == 20 && pr.getSort().getOrderFor("title").isAscending()));
     }
 
     @Test
@@ -170,6 +170,10 @@ class TaskServiceTest {
         assertThat(result.getStatus()).isEqualTo(Task.Status.TODO);
         assertThat(result.getCreatedAt()).isNotNull();
         verify(repository).save(any(Task.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ChangeEventDto change
+                && change.type() == ChangeEventDto.Type.TASK
+                && change.action() == ChangeEventDto.Action.CREATED
+                && testId.equals(change.taskId())));
     }
 
     @Test
@@ -199,7 +203,59 @@ class TaskServiceTest {
         assertThat(result.getUpdatedAt()).isNotNull();
         verify(repository).findById(testId);
         verify(repository).save(testTask);
-        verify(activityLogService).logTaskUpdated(any(Task.class), any(), any(), any(), any(), any(), any(TaskDto.class));
+        verify(activityLogService).logTaskChanges(eq(testTask), argThat(changes -> changes.stream().map(TaskChange::field).toList()
+                .equals(List.of(TaskChange.Field.STATUS, TaskChange.Field.PRIORITY, TaskChange.Field.TITLE,
+                        TaskChange.Field.DESCRIPTION, TaskChange.Field.DUE_DATE))), eq("System"));
+    }
+
+    @Test
+    void update_shouldNotSave_whenNothingChanged() {
+        // Given
+        testTask.setDueDate(testTask.getDueDate().truncatedTo(ChronoUnit.MICROS));
+        when(repository.findById(testId)).thenReturn(Optional.of(testTask));
+        TaskDto sameDto = new TaskDto(testId, testTask.getTitle(), testTask.getDescription(), testTask.getPriority(),
+                testTask.getStatus(), testTask.getDueDate());
+
+        // When
+        Task result = service.update(testId, sameDto);
+
+        // Then
+        assertThat(result.getUpdatedAt()).isNull();
+        verify(repository, never()).save(any(Task.class));
+        verifyNoInteractions(activityLogService, eventPublisher);
+    }
+
+    @Test
+    void patch_shouldApplyAndLogOnlyChangedFields() {
+        // Given
+        when(repository.findById(testId)).thenReturn(Optional.of(testTask));
+        when(repository.save(any(Task.class))).thenReturn(testTask);
+        TaskPatch patch = new TaskPatch(3L, null, Optional.empty(), null, Optional.of(Task.Status.DONE), null);
+
+        // When
+        Task result = service.patch(testId, patch);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(Task.Status.DONE);
+        assertThat(result.getDescription()).isNull();
+        assertThat(result.getTitle()).isEqualTo("Test Task");
+        assertThat(result.getPriority()).isEqualTo(Task.Priority.HIGH);
+        verify(activityLogService).logTaskChanges(testTask, List.of(
+                new TaskChange(TaskChange.Field.STATUS, Task.Status.TODO, Task.Status.DONE),
+                new TaskChange(TaskChange.Field.DESCRIPTION, "Test Description", null)), "System");
+    }
+
+    @Test
+    void patch_shouldThrowOptimisticLockingFailure_whenVersionIsStale() {
+        // Given
+        when(repository.findById(testId)).thenReturn(Optional.of(testTask));
+        TaskPatch patch = new TaskPatch(2L, Optional.of("Stale"), null, null, null, null);
+
+        // When/Then
+        assertThatThrownBy(() -> service.patch(testId, patch))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(testTask.getTitle()).isEqualTo("Test Task");
+        verify(repository, never()).save(any(Task.class));
     }
 
     @Test
@@ -216,6 +272,18 @@ class TaskServiceTest {
         verify(repository, never()).save(any(Task.class));
     }
 
+    @Test
+    void patch_shouldRejectWithConflict_whenStoredVersionIsMissing() {
+        // Given
+        testTask.setVersion(null);
+        when(repository.findById(testId)).thenReturn(Optional.of(testTask));
+        TaskPatch patch = new TaskPatch(0L, Optional.of("Renamed"), null, null, null, null);
+
+        // When/Then
+        assertThatThrownBy(() -> service.patch(testId, patch))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
     @Test
     void delete_shouldDeleteTask() {
         // Given
@@ -226,6 +294,9 @@ class TaskServiceTest {
 
         // Then
         verify(repository).deleteById(testId);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ChangeEventDto change
+                && change.action() == ChangeEventDto.Action.DELETED
+                && change.data() == null));
     }
 }
 